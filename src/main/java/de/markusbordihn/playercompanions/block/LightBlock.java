@@ -32,6 +32,7 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.StateDefinition;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
@@ -41,6 +42,7 @@ import net.minecraft.world.phys.shapes.CollisionContext;
 import net.minecraft.world.phys.shapes.VoxelShape;
 
 import de.markusbordihn.playercompanions.Constants;
+import de.markusbordihn.playercompanions.config.CommonConfig;
 
 public class LightBlock extends Block {
 
@@ -56,6 +58,9 @@ public class LightBlock extends Block {
   public static final int UPDATE_TICK_TTL = 20;
   public static final int VERIFY_TICK_TTL = 100;
 
+  // Light blocks have no physical interaction, so neighbour updates are not needed.
+  private static final int UPDATE_FLAGS = Block.UPDATE_CLIENTS;
+
   public LightBlock(Properties properties) {
     super(properties);
     this.registerDefaultState(
@@ -70,11 +75,13 @@ public class LightBlock extends Block {
   public void rescheduleTick(Level level, BlockState blockState, BlockPos blockPos) {
     if (level.getBlockTicks().hasScheduledTick(blockPos, this)
         && Boolean.FALSE.equals(blockState.getValue(EXTENDED))) {
-      level.setBlock(blockPos, blockState.setValue(EXTENDED, true).setValue(AGE, 0), 3);
+      level.setBlock(blockPos, blockState.setValue(EXTENDED, true).setValue(AGE, 0),
+          UPDATE_FLAGS);
     }
   }
 
   public void scheduleTick(Level level, BlockPos blockPos) {
+    // Placed and extended light blocks keep their full lifetime, to avoid flickering lights.
     if (!level.getBlockTicks().hasScheduledTick(blockPos, this)) {
       level.scheduleTick(blockPos, this, TICK_TTL);
     }
@@ -82,21 +89,56 @@ public class LightBlock extends Block {
 
   public void scheduleUpdateTick(Level level, BlockPos blockPos) {
     if (!level.getBlockTicks().hasScheduledTick(blockPos, this)) {
-      level.scheduleTick(blockPos, this, UPDATE_TICK_TTL);
+      level.scheduleTick(blockPos, this, getAlignedDelay(level, UPDATE_TICK_TTL));
     }
   }
 
   public void scheduleVerifyTick(Level level, BlockPos blockPos) {
     if (!level.getBlockTicks().hasScheduledTick(blockPos, this)) {
-      level.scheduleTick(blockPos, this, VERIFY_TICK_TTL);
+      level.scheduleTick(blockPos, this, getAlignedDelay(level, VERIFY_TICK_TTL));
     }
   }
 
+  /**
+   * Aligns the fade and verify ticks to the next multiple of the given delay, so that light blocks
+   * of several companions are changed on the same tick and their light updates are batched.
+   */
+  private static int getAlignedDelay(Level level, int delay) {
+    return delay - (int) (level.getGameTime() % delay);
+  }
+
+  private static int getFadeStepSize() {
+    int fadeSteps = Math.max(1, CommonConfig.getSnapshot().lightBlockFadeSteps);
+    return (15 + fadeSteps - 1) / fadeSteps;
+  }
+
   public static void place(Level level, BlockPos blockPos) {
     if (level.isClientSide) {
       return;
     }
 
+    BlockPos lightBlockPos = getPlacePosition(level, blockPos);
+    if (lightBlockPos != null) {
+      placeAt(level, lightBlockPos);
+    }
+  }
+
+  public static void placeAt(Level level, BlockPos blockPos) {
+    BlockState blockState = level.getBlockState(blockPos);
+    if (blockState.isAir()) {
+      level.setBlock(blockPos, ModBlocks.LIGHT_BLOCK.get().defaultBlockState(), UPDATE_FLAGS);
+      if (level.getBlockState(blockPos).getBlock() instanceof LightBlock lightBlock) {
+        lightBlock.scheduleTick(level, blockPos);
+        LightBlockManager.register(level, blockPos);
+      }
+    } else if (blockState.getBlock() instanceof LightBlock lightBlock) {
+      // Avoid replacing existing block and just extend the removal tick instead.
+      lightBlock.rescheduleTick(level, blockState, blockPos);
+    }
+  }
+
+  @Nullable
+  public static BlockPos getPlacePosition(Level level, BlockPos blockPos) {
     BlockState blockState = level.getBlockState(blockPos);
     // Check above positions, if we can't place the block directly.
     if (!blockState.isAir() && !(blockState.getBlock() instanceof LightBlock)) {
@@ -120,16 +162,7 @@ public class LightBlock extends Block {
     }
 
     // Final check, before we give up.
-    blockState = level.getBlockState(blockPos);
-    if (blockState.isAir()) {
-      level.setBlock(blockPos, ModBlocks.LIGHT_BLOCK.get().defaultBlockState(), 3);
-      if (level.getBlockState(blockPos).getBlock() instanceof LightBlock lightBlock) {
-        lightBlock.scheduleTick(level, blockPos);
-      }
-    } else if (blockState.getBlock() instanceof LightBlock lightBlock) {
-      // Avoid replacing existing block and just extend the removal tick instead.
-      lightBlock.rescheduleTick(level, blockState, blockPos);
-    }
+    return canPlace(level, blockPos) ? blockPos.immutable() : null;
   }
 
   private static boolean canPlace(Level level, BlockPos blockPos) {
@@ -154,6 +187,18 @@ public class LightBlock extends Block {
   public void setPlacedBy(Level level, BlockPos blockPos, BlockState blockState,
       @Nullable LivingEntity placer, ItemStack itemStack) {
     scheduleTick(level, blockPos);
+    LightBlockManager.register(level, blockPos);
+  }
+
+  /** @deprecated */
+  @Deprecated
+  @Override
+  public void onRemove(BlockState blockState, Level level, BlockPos blockPos,
+      BlockState newBlockState, boolean isMoving) {
+    if (!newBlockState.is(this)) {
+      LightBlockManager.unregister(level, blockPos);
+    }
+    super.onRemove(blockState, level, blockPos, newBlockState, isMoving);
   }
 
   /** @deprecated */
@@ -174,15 +219,15 @@ public class LightBlock extends Block {
 
     if (Boolean.TRUE.equals(blockState.getValue(EXTENDED))) {
       // Extend block removal tick, if block is on the same position.
-      level.setBlock(blockPos, blockState.setValue(EXTENDED, false), 3);
+      level.setBlock(blockPos, blockState.setValue(EXTENDED, false), UPDATE_FLAGS);
       scheduleTick(level, blockPos);
     } else {
-      // Fade out block and remove it, if it is not extended.
-      int age = blockState.getValue(AGE);
+      // Fade out block in the configured number of steps and remove it, if it is not extended.
+      int age = blockState.getValue(AGE) + getFadeStepSize();
       if (age >= 15) {
-        level.removeBlock(blockPos, true);
+        level.setBlock(blockPos, Blocks.AIR.defaultBlockState(), UPDATE_FLAGS);
       } else {
-        level.setBlock(blockPos, blockState.setValue(AGE, age + 1), 3);
+        level.setBlock(blockPos, blockState.setValue(AGE, age), UPDATE_FLAGS);
         scheduleUpdateTick(level, blockPos);
       }
     }
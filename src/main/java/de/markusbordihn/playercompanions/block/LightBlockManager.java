@@ -0,0 +1,272 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.block;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.playercompanions.Constants;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+
+@EventBusSubscriber
+public class LightBlockManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final int ORPHAN_REMOVALS_PER_TICK = 16;
+
+  // Current light block per glowing companion, which is moved along with the companion.
+  private static Map<UUID, LightEntry> activeLightMap = new ConcurrentHashMap<>();
+
+  // All placed light blocks per level and chunk, to clean them up before chunks are saved.
+  private static Map<Level, Map<Long, Set<BlockPos>>> placedLightMap = new ConcurrentHashMap<>();
+
+  // Leaked light blocks from former sessions, found while loading chunks.
+  private static Map<Level, Queue<BlockPos>> orphanedLightMap = new ConcurrentHashMap<>();
+
+  private static int placedLightCount = 0;
+  private static int movedLightCount = 0;
+  private static int cleanedLightCount = 0;
+
+  protected LightBlockManager() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    activeLightMap = new ConcurrentHashMap<>();
+    placedLightMap = new ConcurrentHashMap<>();
+    orphanedLightMap = new ConcurrentHashMap<>();
+    placedLightCount = 0;
+    movedLightCount = 0;
+    cleanedLightCount = 0;
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      placedLightMap.remove(level);
+      orphanedLightMap.remove(level);
+      activeLightMap.values().removeIf(lightEntry -> lightEntry.level() == level);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleEntityLeaveLevelEvent(EntityLeaveLevelEvent event) {
+    // Light blocks of removed companions are fading out by their own.
+    if (!event.getLevel().isClientSide()
+        && event.getEntity() instanceof PlayerCompanionEntity playerCompanionEntity) {
+      activeLightMap.remove(playerCompanionEntity.getUUID());
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleChunkUnloadEvent(ChunkEvent.Unload event) {
+    if (event.getLevel().isClientSide() || !(event.getLevel() instanceof Level level)) {
+      return;
+    }
+    Map<Long, Set<BlockPos>> levelLightMap = placedLightMap.get(level);
+    if (levelLightMap == null) {
+      return;
+    }
+    ChunkAccess chunk = event.getChunk();
+    Set<BlockPos> lightBlockPositions = levelLightMap.remove(chunk.getPos().toLong());
+    if (lightBlockPositions == null) {
+      return;
+    }
+
+    // Remove light blocks directly from the unloading chunk, so that they are not saved with it.
+    // Updating them over the level would request the chunk again, so the stored light data is
+    // marked as outdated instead and the chunk is lit again with its next load.
+    placedLightCount -= lightBlockPositions.size();
+    boolean hasRemovedLightBlocks = false;
+    for (BlockPos blockPos : lightBlockPositions) {
+      if (chunk.getBlockState(blockPos).getBlock() instanceof LightBlock) {
+        chunk.setBlockState(blockPos, Blocks.AIR.defaultBlockState(), false);
+        hasRemovedLightBlocks = true;
+        cleanedLightCount++;
+      }
+    }
+    if (hasRemovedLightBlocks) {
+      chunk.setLightCorrect(false);
+      chunk.setUnsaved(true);
+    }
+    activeLightMap.values().removeIf(lightEntry -> lightEntry.level() == level
+        && lightBlockPositions.contains(lightEntry.blockPos()));
+  }
+
+  @SubscribeEvent
+  public static void handleChunkLoadEvent(ChunkEvent.Load event) {
+    if (event.getLevel().isClientSide() || !(event.getLevel() instanceof Level level)) {
+      return;
+    }
+
+    // Only sections which have a light block in their palette needs to be checked.
+    ChunkAccess chunk = event.getChunk();
+    LevelChunkSection[] sections = chunk.getSections();
+    for (int index = 0; index < sections.length; index++) {
+      LevelChunkSection section = sections[index];
+      if (section == null || section.hasOnlyAir()
+          || !section.maybeHas(blockState -> blockState.getBlock() instanceof LightBlock)) {
+        continue;
+      }
+      int baseX = chunk.getPos().getMinBlockX();
+      int baseY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(index));
+      int baseZ = chunk.getPos().getMinBlockZ();
+      for (int y = 0; y < 16; y++) {
+        for (int z = 0; z < 16; z++) {
+          for (int x = 0; x < 16; x++) {
+            if (section.getBlockState(x, y, z).getBlock() instanceof LightBlock) {
+              orphanedLightMap.computeIfAbsent(level, key -> new ConcurrentLinkedQueue<>())
+                  .add(new BlockPos(baseX + x, baseY + y, baseZ + z));
+            }
+          }
+        }
+      }
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleLevelTickEvent(TickEvent.LevelTickEvent event) {
+    if (event.phase != TickEvent.Phase.END || event.level.isClientSide) {
+      return;
+    }
+    Queue<BlockPos> orphanedLights = orphanedLightMap.get(event.level);
+    if (orphanedLights == null || orphanedLights.isEmpty()) {
+      return;
+    }
+
+    // Remove leaked light blocks, which are not used by any companion.
+    Level level = event.level;
+    for (int i = 0; i < ORPHAN_REMOVALS_PER_TICK && !orphanedLights.isEmpty(); i++) {
+      BlockPos blockPos = orphanedLights.poll();
+      if (level.isLoaded(blockPos) && !isRegistered(level, blockPos)
+          && level.getBlockState(blockPos).getBlock() instanceof LightBlock) {
+        level.removeBlock(blockPos, false);
+        cleanedLightCount++;
+      }
+    }
+    if (orphanedLights.isEmpty()) {
+      log.debug("{} Cleaned up {} light blocks in total.", Constants.LOG_ICON, cleanedLightCount);
+    }
+  }
+
+  public static void place(PlayerCompanionEntity playerCompanionEntity, BlockPos blockPos) {
+    Level level = playerCompanionEntity.getLevel();
+    if (level.isClientSide) {
+      return;
+    }
+    BlockPos lightBlockPos = LightBlock.getPlacePosition(level, blockPos);
+    if (lightBlockPos == null) {
+      return;
+    }
+
+    // Move the existing light block of the companion instead of leaving a trail of light blocks.
+    UUID uuid = playerCompanionEntity.getUUID();
+    LightEntry lightEntry = activeLightMap.get(uuid);
+    if (lightEntry != null && (lightEntry.level() != level
+        || !lightEntry.blockPos().equals(lightBlockPos))) {
+      remove(lightEntry.level(), lightEntry.blockPos());
+      movedLightCount++;
+    }
+    LightBlock.placeAt(level, lightBlockPos);
+    activeLightMap.put(uuid, new LightEntry(level, lightBlockPos));
+  }
+
+  public static void register(Level level, BlockPos blockPos) {
+    if (placedLightMap.computeIfAbsent(level, key -> new HashMap<>())
+        .computeIfAbsent(ChunkPos.asLong(blockPos), key -> new HashSet<>())
+        .add(blockPos.immutable())) {
+      placedLightCount++;
+    }
+  }
+
+  public static void unregister(Level level, BlockPos blockPos) {
+    Map<Long, Set<BlockPos>> levelLightMap = placedLightMap.get(level);
+    if (levelLightMap == null) {
+      return;
+    }
+    long chunkKey = ChunkPos.asLong(blockPos);
+    Set<BlockPos> lightBlockPositions = levelLightMap.get(chunkKey);
+    if (lightBlockPositions != null && lightBlockPositions.remove(blockPos)) {
+      placedLightCount--;
+      if (lightBlockPositions.isEmpty()) {
+        levelLightMap.remove(chunkKey);
+      }
+    }
+  }
+
+  public static int getActiveLightCount() {
+    return activeLightMap.size();
+  }
+
+  public static int getPlacedLightCount() {
+    return placedLightCount;
+  }
+
+  public static int getMovedLightCount() {
+    return movedLightCount;
+  }
+
+  public static int getCleanedLightCount() {
+    return cleanedLightCount;
+  }
+
+  private static boolean isRegistered(Level level, BlockPos blockPos) {
+    Map<Long, Set<BlockPos>> levelLightMap = placedLightMap.get(level);
+    Set<BlockPos> lightBlockPositions =
+        levelLightMap != null ? levelLightMap.get(ChunkPos.asLong(blockPos)) : null;
+    return lightBlockPositions != null && lightBlockPositions.contains(blockPos);
+  }
+
+  private static void remove(Level level, BlockPos blockPos) {
+    if (level.isLoaded(blockPos)
+        && level.getBlockState(blockPos).getBlock() instanceof LightBlock) {
+      level.removeBlock(blockPos, false);
+    }
+  }
+
+  private record LightEntry(Level level, BlockPos blockPos) {
+  }
+
+}
@@ -0,0 +1,149 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.client.light;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.playercompanions.Constants;
+import de.markusbordihn.playercompanions.block.LightBlock;
+import de.markusbordihn.playercompanions.block.ModBlocks;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+
+/**
+ * Client side light for companions which are flagged with a virtual light by the server. The
+ * light block only exists in the client level, so the server world is never changed.
+ */
+@EventBusSubscriber(value = Dist.CLIENT)
+public class VirtualLightManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final int UPDATE_TICK = 5;
+
+  private static Map<UUID, PlayerCompanionEntity> companionMap = new HashMap<>();
+  private static Map<UUID, BlockPos> lightMap = new HashMap<>();
+  private static ClientLevel lightLevel = null;
+  private static int ticker = 0;
+
+  protected VirtualLightManager() {}
+
+  @SubscribeEvent
+  public static void handleEntityJoinLevelEvent(EntityJoinLevelEvent event) {
+    if (event.getLevel().isClientSide()
+        && event.getEntity() instanceof PlayerCompanionEntity playerCompanionEntity) {
+      companionMap.put(playerCompanionEntity.getUUID(), playerCompanionEntity);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleEntityLeaveLevelEvent(EntityLeaveLevelEvent event) {
+    if (event.getLevel().isClientSide()
+        && event.getEntity() instanceof PlayerCompanionEntity playerCompanionEntity) {
+      UUID uuid = playerCompanionEntity.getUUID();
+      companionMap.remove(uuid);
+      removeLight(uuid);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleClientTickEvent(TickEvent.ClientTickEvent event) {
+    if (event.phase != TickEvent.Phase.END || ticker++ < UPDATE_TICK) {
+      return;
+    }
+    ticker = 0;
+
+    // Drop all lights and companions, if the client level was changed or unloaded.
+    ClientLevel level = Minecraft.getInstance().level;
+    if (level != lightLevel) {
+      if (level == null) {
+        companionMap.clear();
+      }
+      lightMap.clear();
+      lightLevel = level;
+    }
+    if (level == null || companionMap.isEmpty() && lightMap.isEmpty()) {
+      return;
+    }
+
+    Iterator<Map.Entry<UUID, PlayerCompanionEntity>> iterator =
+        companionMap.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<UUID, PlayerCompanionEntity> entry = iterator.next();
+      PlayerCompanionEntity playerCompanionEntity = entry.getValue();
+      if (playerCompanionEntity.isRemoved() || playerCompanionEntity.level != level) {
+        iterator.remove();
+        removeLight(entry.getKey());
+      } else if (playerCompanionEntity.hasVirtualLight()) {
+        updateLight(level, entry.getKey(), playerCompanionEntity.getOnPos());
+      } else {
+        removeLight(entry.getKey());
+      }
+    }
+  }
+
+  private static void updateLight(ClientLevel level, UUID uuid, BlockPos blockPos) {
+    BlockPos lightBlockPos = LightBlock.getPlacePosition(level, blockPos);
+    BlockPos lastLightBlockPos = lightMap.get(uuid);
+    if (lightBlockPos != null && lightBlockPos.equals(lastLightBlockPos)) {
+      return;
+    }
+    removeLight(uuid);
+    if (lightBlockPos != null && level.getBlockState(lightBlockPos).isAir()) {
+      level.setBlock(lightBlockPos, ModBlocks.LIGHT_BLOCK.get().defaultBlockState(),
+          Block.UPDATE_CLIENTS);
+      lightMap.put(uuid, lightBlockPos);
+    }
+  }
+
+  private static void removeLight(UUID uuid) {
+    BlockPos lightBlockPos = lightMap.remove(uuid);
+    if (lightBlockPos == null || lightLevel == null) {
+      return;
+    }
+    // Only remove our own light block, the server could have replaced it in the meantime.
+    if (lightLevel.getBlockState(lightBlockPos).getBlock() instanceof LightBlock
+        && !lightMap.containsValue(lightBlockPos)) {
+      lightLevel.setBlock(lightBlockPos, Blocks.AIR.defaultBlockState(), Block.UPDATE_CLIENTS);
+    }
+  }
+
+  public static int getVirtualLightCount() {
+    return lightMap.size();
+  }
+}
@@ -42,7 +42,6 @@ import net.minecraftforge.api.distmarker.Dist;
 
 import de.markusbordihn.playercompanions.Constants;
 import de.markusbordihn.playercompanions.container.CompanionMenu;
-import de.markusbordihn.playercompanions.data.Experience;
 import de.markusbordihn.playercompanions.data.PlayerCompanionData;
 import de.markusbordihn.playercompanions.data.PlayerCompanionsClientData;
 import de.markusbordihn.playercompanions.entity.ActionType;
@@ -130,7 +129,7 @@ public class CompanionScreen<T extends CompanionMenu> extends AbstractContainerS
       font.draw(poseStack,
           Component.translatable(Constants.TEXT_PREFIX + "tamed_companion_level",
               playerCompanionEntity.getExperienceLevel(), playerCompanionEntity.getExperience(),
-              Experience.getExperienceForNextLevel(playerCompanionEntity.getExperienceLevel())),
+              playerCompanionEntity.getExperienceForNextLevel()),
           x, y, Constants.FONT_COLOR_DEFAULT);
       y += 15;
     }
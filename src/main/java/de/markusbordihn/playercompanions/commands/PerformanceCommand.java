@@ -0,0 +1,89 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.commands;
+
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.server.level.ServerLevel;
+
+import de.markusbordihn.playercompanions.block.LightBlockManager;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionFeatureSystem;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionThreatBoard;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionTickBudget;
+import de.markusbordihn.playercompanions.entity.TickPriority;
+import de.markusbordihn.playercompanions.entity.ai.navigation.PlayerCompanionAsyncPathfinder;
+import de.markusbordihn.playercompanions.entity.ai.navigation.PlayerCompanionGroupNavigation;
+import de.markusbordihn.playercompanions.entity.ai.navigation.PlayerCompanionPathCache;
+import de.markusbordihn.playercompanions.entity.type.PlayerCompanionType;
+
+public class PerformanceCommand extends CustomCommand {
+  private static final PerformanceCommand command = new PerformanceCommand();
+
+  public static ArgumentBuilder<CommandSourceStack, ?> register() {
+    return Commands.literal("performance").requires(cs -> cs.hasPermission(2)).executes(command);
+  }
+
+  @Override
+  public int run(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+    sendFeedback(context, "Player Companions Performance\n===");
+    sendFeedback(context,
+        String.format("\u25CB Average tick time: %.1f ms (%s)",
+            PlayerCompanionTickBudget.getAverageTickTime(),
+            PlayerCompanionTickBudget.isOverloaded()
+                ? "deferring with load factor " + PlayerCompanionTickBudget.getLoadFactor()
+                : "normal"));
+    sendFeedback(context,
+        String.format("\u25CB Deferred tasks: %s (feature: %s, experience: %s, cosmetic: %s)",
+            PlayerCompanionTickBudget.getDeferredCount(),
+            PlayerCompanionTickBudget.getDeferredCount(TickPriority.FEATURE),
+            PlayerCompanionTickBudget.getDeferredCount(TickPriority.EXPERIENCE),
+            PlayerCompanionTickBudget.getDeferredCount(TickPriority.COSMETIC)));
+    sendFeedback(context,
+        String.format("\u25CB Light blocks: %s active, %s placed, %s moved, %s cleaned up",
+            LightBlockManager.getActiveLightCount(), LightBlockManager.getPlacedLightCount(),
+            LightBlockManager.getMovedLightCount(), LightBlockManager.getCleanedLightCount()));
+    sendFeedback(context, String.format("\u25CB Threat boards: %s",
+        PlayerCompanionThreatBoard.getSize()));
+    sendFeedback(context, String.format("\u25CB Shared paths: %s reused, %s created",
+        PlayerCompanionPathCache.getCacheHits(), PlayerCompanionPathCache.getCacheMisses()));
+    sendFeedback(context, String.format("\u25CB Group follow paths: %s leader, %s shared",
+        PlayerCompanionGroupNavigation.getLeaderPathCount(),
+        PlayerCompanionGroupNavigation.getSharedPathCount()));
+    sendFeedback(context, String.format("\u25CB Async paths: %s pending, %s completed",
+        PlayerCompanionAsyncPathfinder.getPendingRequests(),
+        PlayerCompanionAsyncPathfinder.getCompletedRequests()));
+    ServerLevel serverLevel = context.getSource().getLevel();
+    StringBuilder featureBatches = new StringBuilder();
+    for (PlayerCompanionType type : PlayerCompanionType.values()) {
+      int size = PlayerCompanionFeatureSystem.getSize(serverLevel, type);
+      if (size > 0) {
+        featureBatches.append(featureBatches.isEmpty() ? "" : ", ").append(type.name())
+            .append(": ").append(size);
+      }
+    }
+    sendFeedback(context, String.format("\u25CB Batched features: %s",
+        featureBatches.isEmpty() ? "none" : featureBatches));
+    return 0;
+  }
+}
@@ -41,12 +41,14 @@ import de.markusbordihn.playercompanions.Constants;
 import de.markusbordihn.playercompanions.data.PlayerCompanionData;
 import de.markusbordihn.playercompanions.data.PlayerCompanionsServerData;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionSpawnManager;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionSummonManager;
 
 public class SummonCommand extends CustomCommand {
   private static final SummonCommand command = new SummonCommand();
 
   public static ArgumentBuilder<CommandSourceStack, ?> register() {
     return Commands.literal("summon").requires(cs -> cs.hasPermission(0)).executes(command)
+        .then(Commands.literal("all").executes(command::runSummonAllCompanions))
         .then(Commands.argument("UUID", StringArgumentType.string())
             .executes(command::runSummonCompanion));
   }
@@ -82,6 +84,19 @@ public class SummonCommand extends CustomCommand {
     return 0;
   }
 
+  public int runSummonAllCompanions(CommandContext<CommandSourceStack> context)
+      throws CommandSyntaxException {
+    ServerPlayer serverPlayer = context.getSource().getPlayerOrException();
+    int numberOfCompanions = PlayerCompanionSummonManager.summonAll(serverPlayer);
+    if (numberOfCompanions == 0) {
+      sendFeedback(context, "Unable to find any owned companions to summon!");
+      return 0;
+    }
+    sendFeedback(context, "Try to summon " + numberOfCompanions + " companions for "
+        + serverPlayer.getName().getString() + " ...");
+    return numberOfCompanions;
+  }
+
   public int runSummonCompanion(CommandContext<CommandSourceStack> context)
       throws CommandSyntaxException {
     final String companionUUID = StringArgumentType.getString(context, "UUID");
@@ -37,6 +37,7 @@ import net.minecraftforge.fml.event.config.ModConfigEvent;
 
 import de.markusbordihn.playercompanions.Constants;
 import de.markusbordihn.playercompanions.client.gui.GuiPosition;
+import de.markusbordihn.playercompanions.entity.GlowMode;
 
 @EventBusSubscriber(bus = EventBusSubscriber.Bus.MOD)
 public class CommonConfig {
@@ -46,10 +47,16 @@ public class CommonConfig {
   public static final ForgeConfigSpec commonSpec;
   public static final Config COMMON;
 
+  // Immutable snapshot of the config values, which are read by companions during ticks.
+  private static volatile Snapshot snapshot;
+
   public static final String MIN_GROUP_SIZE_TEXT = "Min group size.";
   public static final String MAX_GROUP_SIZE_TEXT = "Max group size.";
   public static final String SPAWN_WEIGHT_TEXT = "Spawn weight.";
 
+  public static final List<String> SUPPORTER_BUFF_TARGETS =
+      List.of("owner", "self", "player", "healer", "tamable");
+
   protected CommonConfig() {}
 
   static {
@@ -68,6 +75,16 @@ public class CommonConfig {
     public final ForgeConfigSpec.IntValue respawnDelay;
     public final ForgeConfigSpec.BooleanValue friendlyFire;
 
+    public final ForgeConfigSpec.BooleanValue hibernationEnabled;
+    public final ForgeConfigSpec.IntValue hibernationDelay;
+
+    public final ForgeConfigSpec.BooleanValue virtualFollowEnabled;
+    public final ForgeConfigSpec.IntValue virtualFollowDistance;
+    public final ForgeConfigSpec.IntValue virtualFollowSettleTime;
+
+    public final ForgeConfigSpec.EnumValue<GlowMode> glowMode;
+    public final ForgeConfigSpec.IntValue lightBlockFadeSteps;
+
     public final ForgeConfigSpec.IntValue maxHealth;
     public final ForgeConfigSpec.IntValue maxAttackDamage;
 
@@ -96,9 +113,17 @@ public class CommonConfig {
     public final ForgeConfigSpec.IntValue supporterTypeDamageBoostDuration;
     public final ForgeConfigSpec.IntValue supporterTypeDamageResistanceDuration;
     public final ForgeConfigSpec.IntValue supporterTypeFireResistanceDuration;
+    public final ForgeConfigSpec.ConfigValue<List<? extends String>> supporterTypeBuffOrder;
 
     public final ForgeConfigSpec.IntValue smallGhastExplosionPower;
 
+    public final ForgeConfigSpec.BooleanValue tickBudgetEnabled;
+    public final ForgeConfigSpec.BooleanValue groupFollowEnabled;
+    public final ForgeConfigSpec.BooleanValue asyncPathfindingEnabled;
+    public final ForgeConfigSpec.IntValue asyncPathfindingThreads;
+    public final ForgeConfigSpec.IntValue tickBudgetMaxTickTime;
+    public final ForgeConfigSpec.IntValue summonBatchSize;
+
     Config(ForgeConfigSpec.Builder builder) {
       builder.comment("Player Companion's (General configuration)");
 
@@ -114,6 +139,38 @@ public class CommonConfig {
           .define("friendlyFire", false);
       builder.pop();
 
+      builder.push("Hibernation");
+      hibernationEnabled = builder.comment(
+          "Store companions as data and remove them from the world, if their owner is offline.")
+          .define("hibernationEnabled", false);
+      hibernationDelay =
+          builder.comment("Time in seconds the owner needs to be offline before hibernation.")
+              .defineInRange("hibernationDelay", 300, 0, 86400);
+      builder.pop();
+
+      builder.push("Virtual Follow");
+      virtualFollowEnabled = builder.comment(
+          "Store following companions as data, if they are left behind too far from their owner.")
+          .define("virtualFollowEnabled", false);
+      virtualFollowDistance =
+          builder.comment("Distance in blocks after which a following companion is left behind.")
+              .defineInRange("virtualFollowDistance", 64, 16, 1024);
+      virtualFollowSettleTime = builder.comment(
+          "Time in seconds the owner needs to stay in an area, before companions are re-spawned.")
+          .defineInRange("virtualFollowSettleTime", 3, 1, 300);
+      builder.pop();
+
+      builder.push("Glow in the dark");
+      glowMode = builder.comment(
+          "LIGHT_BLOCK = place light blocks in the world, CLIENT = clients render the light of "
+              + "glowing companions without any world changes on the server, OFF = no light.")
+          .defineEnum("glowMode", GlowMode.LIGHT_BLOCK);
+      lightBlockFadeSteps = builder.comment(
+          "Number of steps to fade out light blocks, 1 = instant remove, 15 = one light level per "
+              + "step.")
+          .defineInRange("lightBlockFadeSteps", 3, 1, 15);
+      builder.pop();
+
       builder.push("Level scaling");
       maxHealth = builder.comment("The max base health a companion can get with level 60.")
           .defineInRange("maxHealth", 20, 0, 200);
@@ -211,13 +268,120 @@ public class CommonConfig {
           .comment(
               "Defines the amount of ticks how long the fire resistance protection is enabled.")
           .defineInRange("supporterTypeFireResistanceDuration", 1200, 20, 6000);
+      supporterTypeBuffOrder = builder.comment(
+          "Defines the order in which targets are buffed: owner, self, player, healer, tamable.")
+          .defineList("supporterTypeBuffOrder", new ArrayList<String>(SUPPORTER_BUFF_TARGETS),
+              entry -> entry instanceof String buffTarget
+                  && SUPPORTER_BUFF_TARGETS.contains(buffTarget));
       builder.pop();
 
       builder.push("Small Ghast");
       smallGhastExplosionPower =
           builder.comment("Explosion power").defineInRange("smallGhastExplosionPower", 0, 0, 16);
       builder.pop();
+
+      builder.push("Performance");
+      tickBudgetEnabled = builder
+          .comment("Defer non-critical companion work, if the server is running behind.")
+          .define("tickBudgetEnabled", true);
+      tickBudgetMaxTickTime = builder
+          .comment("Average milliseconds per tick (MSPT) above which companion work is deferred.")
+          .defineInRange("tickBudgetMaxTickTime", 45, 10, 1000);
+      summonBatchSize = builder.comment("Max. number of companions summoned per tick.")
+          .defineInRange("summonBatchSize", 2, 1, 16);
+      groupFollowEnabled = builder
+          .comment("Companions of the same owner are sharing one leader path to follow the owner.")
+          .define("groupFollowEnabled", false);
+      asyncPathfindingEnabled = builder
+          .comment("Calculate follow and move paths on worker threads (experimental).")
+          .define("asyncPathfindingEnabled", false);
+      asyncPathfindingThreads = builder
+          .comment("Number of worker threads for async pathfinding, requires a server restart.")
+          .defineInRange("asyncPathfindingThreads", 2, 1, 8);
+      builder.pop();
+    }
+  }
+
+  public static class Snapshot {
+
+    public final boolean respawnOnDeath;
+    public final boolean friendlyFire;
+    public final boolean hibernationEnabled;
+    public final boolean virtualFollowEnabled;
+    public final boolean tickBudgetEnabled;
+    public final boolean groupFollowEnabled;
+    public final boolean asyncPathfindingEnabled;
+    public final int respawnDelay;
+    public final int hibernationDelay;
+    public final int virtualFollowDistance;
+    public final int virtualFollowSettleTime;
+    public final int maxHealth;
+    public final int maxAttackDamage;
+    public final int collectorTypeRadius;
+    public final int healerTypeRadius;
+    public final int healerTypeMinAmount;
+    public final int healerTypeMaxAmount;
+    public final int supporterTypeRadius;
+    public final int supporterTypeDamageBoostDuration;
+    public final int supporterTypeDamageResistanceDuration;
+    public final int supporterTypeFireResistanceDuration;
+    public final int smallGhastExplosionPower;
+    public final int tickBudgetMaxTickTime;
+    public final int summonBatchSize;
+    public final int asyncPathfindingThreads;
+    public final List<String> supporterTypeBuffOrder;
+    public final GlowMode glowMode;
+    public final int lightBlockFadeSteps;
+
+    Snapshot(Config config) {
+      this.respawnOnDeath = Boolean.TRUE.equals(config.respawnOnDeath.get());
+      this.friendlyFire = Boolean.TRUE.equals(config.friendlyFire.get());
+      this.hibernationEnabled = Boolean.TRUE.equals(config.hibernationEnabled.get());
+      this.virtualFollowEnabled = Boolean.TRUE.equals(config.virtualFollowEnabled.get());
+      this.tickBudgetEnabled = Boolean.TRUE.equals(config.tickBudgetEnabled.get());
+      this.groupFollowEnabled = Boolean.TRUE.equals(config.groupFollowEnabled.get());
+      this.asyncPathfindingEnabled = Boolean.TRUE.equals(config.asyncPathfindingEnabled.get());
+      this.respawnDelay = config.respawnDelay.get();
+      this.hibernationDelay = config.hibernationDelay.get();
+      this.virtualFollowDistance = config.virtualFollowDistance.get();
+      this.virtualFollowSettleTime = config.virtualFollowSettleTime.get();
+      this.maxHealth = config.maxHealth.get();
+      this.maxAttackDamage = config.maxAttackDamage.get();
+      this.collectorTypeRadius = config.collectorTypeRadius.get();
+      this.healerTypeRadius = config.healerTypeRadius.get();
+      this.healerTypeMinAmount = config.healerTypeMinAmount.get();
+      this.healerTypeMaxAmount = config.healerTypeMaxAmount.get();
+      this.supporterTypeRadius = config.supporterTypeRadius.get();
+      this.supporterTypeDamageBoostDuration = config.supporterTypeDamageBoostDuration.get();
+      this.supporterTypeDamageResistanceDuration =
+          config.supporterTypeDamageResistanceDuration.get();
+      this.supporterTypeFireResistanceDuration = config.supporterTypeFireResistanceDuration.get();
+      this.smallGhastExplosionPower = config.smallGhastExplosionPower.get();
+      this.tickBudgetMaxTickTime = config.tickBudgetMaxTickTime.get();
+      this.summonBatchSize = config.summonBatchSize.get();
+      this.asyncPathfindingThreads = config.asyncPathfindingThreads.get();
+      this.supporterTypeBuffOrder = List.copyOf(config.supporterTypeBuffOrder.get());
+      this.glowMode = config.glowMode.get();
+      this.lightBlockFadeSteps = config.lightBlockFadeSteps.get();
+    }
+  }
+
+  public static Snapshot getSnapshot() {
+    Snapshot currentSnapshot = snapshot;
+    if (currentSnapshot == null) {
+      currentSnapshot = new Snapshot(COMMON);
+      snapshot = currentSnapshot;
+    }
+    return currentSnapshot;
+  }
+
+  @SubscribeEvent
+  public static void handleModConfigLoadEvent(ModConfigEvent.Loading event) {
+    ModConfig config = event.getConfig();
+    if (config.getSpec() != commonSpec) {
+      return;
     }
+    snapshot = new Snapshot(COMMON);
   }
 
   @SubscribeEvent
@@ -227,6 +391,7 @@ public class CommonConfig {
       return;
     }
     log.info("Reload common config file {} ...", config.getFileName());
+    snapshot = new Snapshot(COMMON);
   }
 
 }
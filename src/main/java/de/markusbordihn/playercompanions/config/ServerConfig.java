@@ -0,0 +1,72 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.fml.ModLoadingContext;
+import net.minecraftforge.fml.config.ModConfig;
+
+import de.markusbordihn.playercompanions.Constants;
+
+public class ServerConfig {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  // Server configs are synced to the clients, which need the same values for the gui.
+  public static final ForgeConfigSpec serverSpec;
+  public static final Config SERVER;
+
+  protected ServerConfig() {}
+
+  static {
+    com.electronwill.nightconfig.core.Config.setInsertionOrderPreserved(true);
+    final Pair<Config, ForgeConfigSpec> specPair =
+        new ForgeConfigSpec.Builder().configure(Config::new);
+    serverSpec = specPair.getRight();
+    SERVER = specPair.getLeft();
+    log.info("{} Server config ...", Constants.LOG_REGISTER_PREFIX);
+    ModLoadingContext.get().registerConfig(ModConfig.Type.SERVER, serverSpec);
+  }
+
+  public static class Config {
+
+    public final ForgeConfigSpec.ConfigValue<List<String>> experienceCurves;
+
+    Config(ForgeConfigSpec.Builder builder) {
+      builder.comment("Player Companion's (Server configuration)");
+
+      builder.push("Level scaling");
+      experienceCurves = builder.comment(
+          "Custom experience curves per companion type, like healer=1,4,12,24,... with the "
+              + "required experience for each level, starting with level 1.")
+          .define("experienceCurves", new ArrayList<String>());
+      builder.pop();
+    }
+  }
+
+}
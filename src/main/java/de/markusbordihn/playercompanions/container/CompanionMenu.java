@@ -277,6 +277,12 @@ public class CompanionMenu extends AbstractContainerMenu {
     }
   }
 
+  public void setInventoryIndexChanged() {
+    if (!this.level.isClientSide && this.dataLoaded && this.playerCompanionData != null) {
+      this.playerCompanionData.invalidateInventoryIndex();
+    }
+  }
+
   public Entity getPlayerCompanionEntity() {
     if (this.playerCompanionData == null) {
       return null;
@@ -51,6 +51,14 @@ public class InventorySlot extends Slot {
     this.menu.setInventoryChanged(this.getSlotIndex(), itemStack);
   }
 
+  @Override
+  public void setChanged() {
+    super.setChanged();
+
+    // Stack sizes could be changed in place by place and take actions.
+    this.menu.setInventoryIndexChanged();
+  }
+
   @Override
   public boolean mayPlace(ItemStack itemStack) {
     Item item = itemStack.getItem();
@@ -19,117 +19,122 @@
 
 package de.markusbordihn.playercompanions.data;
 
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 
-import com.google.common.collect.Maps;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
-import net.minecraft.Util;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.event.config.ModConfigEvent;
 
+import de.markusbordihn.playercompanions.Constants;
+import de.markusbordihn.playercompanions.config.ServerConfig;
+import de.markusbordihn.playercompanions.entity.type.PlayerCompanionType;
+
+@EventBusSubscriber(bus = EventBusSubscriber.Bus.MOD)
 public class Experience {
 
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final ServerConfig.Config SERVER = ServerConfig.SERVER;
+
   public static final int MIN_LEVEL = 1;
   public static final int MAX_LEVEL = 60;
 
-  protected static final Map<Integer, Integer> LevelExperienceMap =
-      Util.make(Maps.newHashMap(), hashMap -> {
-        hashMap.put(1, 1);
-        hashMap.put(2, 4);
-        hashMap.put(3, 12);
-        hashMap.put(4, 24);
-        hashMap.put(5, 40);
-        hashMap.put(6, 60);
-        hashMap.put(7, 84);
-        hashMap.put(8, 112);
-        hashMap.put(9, 144);
-        hashMap.put(10, 180);
-        hashMap.put(11, 220);
-        hashMap.put(12, 264);
-        hashMap.put(13, 312);
-        hashMap.put(14, 364);
-        hashMap.put(15, 420);
-        hashMap.put(16, 480);
-        hashMap.put(17, 544);
-        hashMap.put(18, 612);
-        hashMap.put(19, 684);
-        hashMap.put(20, 760);
-        hashMap.put(21, 840);
-        hashMap.put(22, 924);
-        hashMap.put(23, 1012);
-        hashMap.put(24, 1104);
-        hashMap.put(25, 1200);
-        hashMap.put(26, 1300);
-        hashMap.put(27, 1404);
-        hashMap.put(28, 1512);
-        hashMap.put(29, 1624);
-        hashMap.put(30, 1740);
-        hashMap.put(31, 1860);
-        hashMap.put(32, 1984);
-        hashMap.put(33, 2112);
-        hashMap.put(34, 2244);
-        hashMap.put(35, 2380);
-        hashMap.put(36, 2520);
-        hashMap.put(37, 2664);
-        hashMap.put(38, 2812);
-        hashMap.put(39, 2964);
-        hashMap.put(40, 3120);
-        hashMap.put(41, 3280);
-        hashMap.put(42, 3444);
-        hashMap.put(43, 3612);
-        hashMap.put(44, 3784);
-        hashMap.put(45, 3960);
-        hashMap.put(46, 4140);
-        hashMap.put(47, 4324);
-        hashMap.put(48, 4512);
-        hashMap.put(49, 4704);
-        hashMap.put(50, 4900);
-        hashMap.put(51, 5100);
-        hashMap.put(52, 5304);
-        hashMap.put(53, 5512);
-        hashMap.put(54, 5724);
-        hashMap.put(55, 5940);
-        hashMap.put(56, 6160);
-        hashMap.put(57, 6384);
-        hashMap.put(58, 6612);
-        hashMap.put(59, 6844);
-        hashMap.put(60, 7080);
-      });
+  protected static final ExperienceCurve DEFAULT_CURVE = new ExperienceCurve(new int[] {
+        1, 4, 12, 24, 40, 60, 84, 112, 144, 180, 220, 264, 312, 364, 420, 480, 544, 612, 684, 760,
+        840, 924, 1012, 1104, 1200, 1300, 1404, 1512, 1624, 1740, 1860, 1984, 2112, 2244, 2380,
+        2520, 2664, 2812, 2964, 3120, 3280, 3444, 3612, 3784, 3960, 4140, 4324, 4512, 4704, 4900,
+        5100, 5304, 5512, 5724, 5940, 6160, 6384, 6612, 6844, 7080  });
+
+  // Experience curves per companion type, which are overwriting the default curve.
+  private static Map<PlayerCompanionType, ExperienceCurve> experienceCurveMap =
+      new EnumMap<>(PlayerCompanionType.class);
 
   protected Experience() {}
 
+  @SubscribeEvent
+  public static void handleModConfigLoadingEvent(ModConfigEvent.Loading event) {
+    if (event.getConfig().getSpec() == ServerConfig.serverSpec) {
+      loadExperienceCurves();
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleModConfigReloadingEvent(ModConfigEvent.Reloading event) {
+    if (event.getConfig().getSpec() == ServerConfig.serverSpec) {
+      loadExperienceCurves();
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleModConfigUnloadingEvent(ModConfigEvent.Unloading event) {
+    // Server configs are unloaded after leaving a world, so the next world starts with defaults.
+    if (event.getConfig().getSpec() == ServerConfig.serverSpec) {
+      experienceCurveMap = new EnumMap<>(PlayerCompanionType.class);
+    }
+  }
+
+  public static ExperienceCurve getDefaultCurve() {
+    return DEFAULT_CURVE;
+  }
+
+  public static ExperienceCurve getCurve(PlayerCompanionType type) {
+    return experienceCurveMap.getOrDefault(type, DEFAULT_CURVE);
+  }
+
   public static int getExperienceForLevel(int level) {
-    return LevelExperienceMap.getOrDefault(level, null);
+    return DEFAULT_CURVE.getExperienceForLevel(level);
   }
 
   public static int getExperienceForNextLevel(int level) {
-    if (level < MAX_LEVEL) {
-      return LevelExperienceMap.getOrDefault(level + 1, null);
-    }
-    return LevelExperienceMap.get(MAX_LEVEL);
+    return DEFAULT_CURVE.getExperienceForNextLevel(level);
   }
 
   public static int getExperienceForPreviousLevel(int level) {
-    if (level > 1 && level <= MAX_LEVEL) {
-      return LevelExperienceMap.get(level - 1);
-    }
-    return LevelExperienceMap.get(MIN_LEVEL);
+    return DEFAULT_CURVE.getExperienceForPreviousLevel(level);
   }
 
   public static int getExperienceDifferenceForLevel(int level) {
-    if (level > 1) {
-      return LevelExperienceMap.getOrDefault(level, 0)
-          - LevelExperienceMap.getOrDefault(level - 1, 0);
-    }
-    return 0;
+    return DEFAULT_CURVE.getExperienceDifferenceForLevel(level);
   }
 
   public static int getLevelFromExperience(int experience) {
-    for (int level = 0; level < MAX_LEVEL; level++) {
-      if (getExperienceForLevel(level) > experience) {
-        return level - 1;
+    return DEFAULT_CURVE.getLevelFromExperience(experience);
+  }
+
+  private static void loadExperienceCurves() {
+    Map<PlayerCompanionType, ExperienceCurve> experienceCurves =
+        new EnumMap<>(PlayerCompanionType.class);
+    List<String> experienceCurveEntries = SERVER.experienceCurves.get();
+    for (String experienceCurveEntry : experienceCurveEntries) {
+      // Format: <type>=<experience level 1>,<experience level 2>,...
+      String[] experienceCurveParts = experienceCurveEntry.split("=", 2);
+      if (experienceCurveParts.length != 2) {
+        log.error("{} Invalid experience curve {}, expected <type>=<experience>,...!",
+            Constants.LOG_ICON, experienceCurveEntry);
+        continue;
+      }
+      try {
+        PlayerCompanionType type =
+            PlayerCompanionType.valueOf(experienceCurveParts[0].trim().toUpperCase());
+        String[] experienceValues = experienceCurveParts[1].split(",");
+        int[] levelExperience = new int[experienceValues.length];
+        for (int index = 0; index < experienceValues.length; index++) {
+          levelExperience[index] = Integer.parseInt(experienceValues[index].trim());
+        }
+        experienceCurves.put(type, new ExperienceCurve(levelExperience));
+        log.info("{} Using experience curve with {} levels for {} companions.",
+            Constants.LOG_ICON, levelExperience.length, type);
+      } catch (IllegalArgumentException exception) {
+        log.error("{} Unable to load experience curve {}: {}", Constants.LOG_ICON,
+            experienceCurveEntry, exception.getMessage());
       }
     }
-    return 1;
+    experienceCurveMap = experienceCurves;
   }
 
-
 }
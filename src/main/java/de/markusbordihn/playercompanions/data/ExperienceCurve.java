@@ -0,0 +1,76 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.data;
+
+import java.util.Arrays;
+
+public class ExperienceCurve {
+
+  // Required experience per level, the first entry is level 1.
+  private final int[] levelExperience;
+
+  public ExperienceCurve(int[] levelExperience) {
+    if (levelExperience.length == 0) {
+      throw new IllegalArgumentException("Experience curve needs at least one level!");
+    }
+    for (int index = 1; index < levelExperience.length; index++) {
+      if (levelExperience[index] <= levelExperience[index - 1]) {
+        throw new IllegalArgumentException(
+            "Experience curve needs increasing values, but got " + levelExperience[index]
+                + " after " + levelExperience[index - 1] + " for level " + (index + 1) + "!");
+      }
+    }
+    this.levelExperience = levelExperience.clone();
+  }
+
+  public int getMaxLevel() {
+    return this.levelExperience.length;
+  }
+
+  public int getExperienceForLevel(int level) {
+    return this.levelExperience[Math.max(Math.min(level, getMaxLevel()), Experience.MIN_LEVEL)
+        - 1];
+  }
+
+  public int getExperienceForNextLevel(int level) {
+    return getExperienceForLevel(level < getMaxLevel() ? level + 1 : getMaxLevel());
+  }
+
+  public int getExperienceForPreviousLevel(int level) {
+    return getExperienceForLevel(level > 1 && level <= getMaxLevel() ? level - 1 : 1);
+  }
+
+  public int getExperienceDifferenceForLevel(int level) {
+    if (level > 1 && level <= getMaxLevel()) {
+      return this.levelExperience[level - 1] - this.levelExperience[level - 2];
+    }
+    return 0;
+  }
+
+  public int getLevelFromExperience(int experience) {
+    int index = Arrays.binarySearch(this.levelExperience, experience);
+    if (index < 0) {
+      // Use the highest level which is reached with the given experience.
+      index = -index - 2;
+    }
+    return Math.max(index + 1, Experience.MIN_LEVEL);
+  }
+
+}
@@ -36,7 +36,6 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 
@@ -51,6 +50,7 @@ public class PlayerCompanionData {
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
   private static final String ACTIVE_TAG = "Active";
+  private static final String CAPTURED_TAG = "Captured";
   private static final String ENTITY_ACTION_TYPE = "EntityActionType";
   private static final String ENTITY_AGGRESSION_LEVEL = "EntityAggressionLevel";
   private static final String ENTITY_DATA_TAG = "EntityData";
@@ -66,13 +66,16 @@ public class PlayerCompanionData {
   private static final String ENTITY_SITTING_TAG = "EntitySitting";
   private static final String ENTITY_TARGET_TAG = "EntityTarget";
   private static final String ENTITY_TYPE_TAG = "EntityType";
+  private static final String HIBERNATED_TAG = "Hibernated";
   private static final String LEVEL_TAG = "Level";
   private static final String NAME_TAG = "Name";
   private static final String OWNER_NAME_TAG = "OwnerName";
   private static final String OWNER_TAG = "Owner";
   private static final String POSITION_TAG = "Position";
   private static final String REMOVED_TAG = "Removed";
+  private static final String SPAWN_GENERATION_TAG = "SpawnGeneration";
   private static final String TYPE_TAG = "Type";
+  private static final String VIRTUAL_FOLLOW_TAG = "VirtualFollow";
   public static final String UUID_TAG = "UUID";
 
   private ActionType entityActionType = ActionType.UNKNOWN;
@@ -80,11 +83,13 @@ public class PlayerCompanionData {
   private BlockPos blockPos;
   private ClientLevel clientLevel;
   private CompoundTag entityData;
+  private CompoundTag spawnTemplate;
   private EntityType<?> entityType;
   private NonNullList<ItemStack> armorItems = NonNullList.withSize(4, ItemStack.EMPTY);
   private NonNullList<ItemStack> handItems = NonNullList.withSize(2, ItemStack.EMPTY);
   private NonNullList<ItemStack> inventoryItems = NonNullList.withSize(16, ItemStack.EMPTY);
   private PlayerCompanionEntity companionEntity;
+  private final PlayerCompanionInventoryIndex inventoryIndex = new PlayerCompanionInventoryIndex();
   private PlayerCompanionType type = PlayerCompanionType.UNKNOWN;
   private ResourceKey<Level> level;
   private ServerLevel serverLevel;
@@ -96,17 +101,21 @@ public class PlayerCompanionData {
   private UUID companionUUID = null;
   private UUID ownerUUID = null;
   private boolean active = true;
+  private boolean captured = false;
   private boolean entityOrderedToPosition = false;
   private boolean entitySitOnShoulder = false;
   private boolean entitySitting = false;
   private boolean hasOwner = false;
+  private boolean hibernated = false;
   private boolean isRemoved = false;
+  private boolean virtualFollow = false;
   private float entityHealth;
   private float entityHealthMax;
   private int entityExperience = 1;
   private int entityExperienceLevel = 1;
   private int entityId;
   private int entityRespawnTimer;
+  private int spawnGeneration;
 
   public PlayerCompanionData(PlayerCompanionEntity companion) {
     load(companion);
@@ -132,6 +141,50 @@ public class PlayerCompanionData {
     return this.entityOrderedToPosition;
   }
 
+  public boolean isHibernated() {
+    return this.hibernated;
+  }
+
+  public void setHibernated(boolean hibernated) {
+    this.hibernated = hibernated;
+    this.setDirty();
+  }
+
+  public boolean isCaptured() {
+    return this.captured;
+  }
+
+  public void setCaptured(boolean captured) {
+    this.captured = captured;
+    this.setDirty();
+  }
+
+  public int getSpawnGeneration() {
+    return this.spawnGeneration;
+  }
+
+  public void setSpawnGeneration(int spawnGeneration) {
+    this.spawnGeneration = spawnGeneration;
+    this.setDirty();
+  }
+
+  public boolean isVirtualFollow() {
+    return this.virtualFollow;
+  }
+
+  public void setVirtualFollow(boolean virtualFollow) {
+    this.virtualFollow = virtualFollow;
+    this.setDirty();
+  }
+
+  public BlockPos getBlockPos() {
+    return this.blockPos;
+  }
+
+  public ResourceKey<Level> getLevelKey() {
+    return this.level;
+  }
+
   public UUID getUUID() {
     return this.companionUUID;
   }
@@ -224,6 +277,17 @@ public class PlayerCompanionData {
     return this.entityData;
   }
 
+  /**
+   * Shared spawn template for the spawn manager, which needs to be copied before it is used.
+   */
+  public CompoundTag getSpawnTemplate() {
+    return this.spawnTemplate;
+  }
+
+  public void setSpawnTemplate(CompoundTag spawnTemplate) {
+    this.spawnTemplate = spawnTemplate;
+  }
+
   public void syncEntityData(Entity entity) {
     if (entity instanceof LivingEntity livingEntity) {
       syncEntityData(livingEntity);
@@ -233,6 +297,7 @@ public class PlayerCompanionData {
   public void syncEntityData(LivingEntity livingEntity) {
     if (livingEntity != null) {
       this.entityData = livingEntity.serializeNBT();
+      this.spawnTemplate = null;
     }
   }
 
@@ -303,11 +368,13 @@ public class PlayerCompanionData {
 
   public void setInventoryItems(NonNullList<ItemStack> inventory) {
     this.inventoryItems = inventory;
+    this.inventoryIndex.invalidate();
     this.setDirty();
   }
 
   public void setInventoryItem(int index, ItemStack itemStack) {
     this.inventoryItems.set(index, itemStack);
+    this.inventoryIndex.updateSlot(this.inventoryItems, index);
     this.setDirty();
   }
 
@@ -319,35 +386,42 @@ public class PlayerCompanionData {
     return this.inventoryItems.size();
   }
 
+  public void invalidateInventoryIndex() {
+    this.inventoryIndex.invalidate();
+  }
+
+  public boolean hasInventorySpace() {
+    return this.inventoryIndex.hasSpace(this.inventoryItems);
+  }
+
+  public boolean isInventoryFullFor(ItemStack itemStack) {
+    return this.inventoryIndex.isFullFor(this.inventoryItems, itemStack);
+  }
+
   public boolean storeInventoryItem(ItemStack itemStack) {
-    // Iterate trough item stacks to find a matching or empty item stack to store the item.
-
-    // 1. Try to add stack-able items to existing stacks in the inventory.
-    // Note: Items will loose their NBT Tags because they are bound to the ItemStack.
-    if (itemStack.getMaxStackSize() > 1) {
-      Item item = itemStack.getItem();
-      int numberOfItems = itemStack.getCount();
-
-      for (int index = 0; index < getInventoryItemsSize(); index++) {
-        ItemStack existingItems = getInventoryItem(index);
-        if (!existingItems.isEmpty() && existingItems.is(item)
-            && existingItems.getCount() + numberOfItems < existingItems.getMaxStackSize()) {
-          existingItems.grow(numberOfItems);
-          return true;
-        }
-      }
+    // Use the inventory index to find a matching or empty item stack to store the item.
+    if (isInventoryFullFor(itemStack)) {
+      return false;
+    }
+
+    // 1. Try to add stack-able items to existing stacks with the same item and tags.
+    int index = this.inventoryIndex.findMergeableSlot(this.inventoryItems, itemStack);
+    if (index >= 0) {
+      this.inventoryItems.get(index).grow(itemStack.getCount());
+      this.inventoryIndex.updateSlot(this.inventoryItems, index);
+      this.setDirty();
+      return true;
     }
 
     // 2. Try to store items into any empty place.
     // Note: We are storing the ItemStack directly to avoid loosing any NBT Tags.
-    for (int index = 0; index < getInventoryItemsSize(); index++) {
-      ItemStack existingItems = getInventoryItem(index);
-      if (existingItems.isEmpty()) {
-        setInventoryItem(index, itemStack);
-        return true;
-      }
+    index = this.inventoryIndex.findFreeSlot(this.inventoryItems);
+    if (index >= 0) {
+      setInventoryItem(index, itemStack);
+      return true;
     }
 
+    this.inventoryIndex.markFull(itemStack);
     return false;
   }
 
@@ -385,6 +459,7 @@ public class PlayerCompanionData {
     this.entityOrderedToPosition = companion.isOrderedToPosition();
     this.entitySitOnShoulder = companion.isSitOnShoulder();
     this.entityData = companion.serializeNBT();
+    this.spawnTemplate = null;
 
     // Entity Target
     LivingEntity target = companion.getTarget();
@@ -425,6 +500,10 @@ public class PlayerCompanionData {
     }
     this.active = compoundTag.getBoolean(ACTIVE_TAG);
     this.isRemoved = compoundTag.getBoolean(REMOVED_TAG);
+    this.hibernated = compoundTag.getBoolean(HIBERNATED_TAG);
+    this.virtualFollow = compoundTag.getBoolean(VIRTUAL_FOLLOW_TAG);
+    this.captured = compoundTag.getBoolean(CAPTURED_TAG);
+    this.spawnGeneration = compoundTag.getInt(SPAWN_GENERATION_TAG);
     this.blockPos = NbtUtils.readBlockPos(compoundTag.getCompound(POSITION_TAG));
     if (compoundTag.contains(LEVEL_TAG)) {
       this.levelName = compoundTag.getString(LEVEL_TAG);
@@ -443,9 +522,11 @@ public class PlayerCompanionData {
           Registry.ENTITY_TYPE.get(new ResourceLocation(compoundTag.getString(ENTITY_TYPE_TAG)));
     }
     this.entityData = compoundTag.getCompound(ENTITY_DATA_TAG);
+    this.spawnTemplate = null;
     this.entityDimension = compoundTag.getString(ENTITY_DIMENSION);
     this.entityExperience = compoundTag.getInt(ENTITY_EXPERIENCE_TAG);
-    this.entityExperienceLevel = compoundTag.getInt(ENTITY_EXPERIENCE_LEVEL_TAG);
+    this.entityExperienceLevel = Math.min(compoundTag.getInt(ENTITY_EXPERIENCE_LEVEL_TAG),
+        Experience.getCurve(this.type).getMaxLevel());
     this.entityHealth = compoundTag.getFloat(ENTITY_HEALTH_TAG);
     this.entityHealthMax = compoundTag.getFloat(ENTITY_HEALTH_MAX_TAG);
     this.entityOrderedToPosition = compoundTag.getBoolean(ENTITY_ORDERED_TO_POSITION);
@@ -473,6 +554,7 @@ public class PlayerCompanionData {
 
     // Load inventory
     PlayerCompanionDataHelper.loadInventoryItems(compoundTag, this.inventoryItems);
+    this.inventoryIndex.invalidate();
 
     log.trace("Loaded PlayerCompanion {} data over compoundTag with {}", this.name, this);
   }
@@ -491,6 +573,10 @@ public class PlayerCompanionData {
     compoundTag.putString(TYPE_TAG, this.type.name());
     compoundTag.putBoolean(ACTIVE_TAG, this.active);
     compoundTag.putBoolean(REMOVED_TAG, this.isRemoved);
+    compoundTag.putBoolean(HIBERNATED_TAG, this.hibernated);
+    compoundTag.putBoolean(VIRTUAL_FOLLOW_TAG, this.virtualFollow);
+    compoundTag.putBoolean(CAPTURED_TAG, this.captured);
+    compoundTag.putInt(SPAWN_GENERATION_TAG, this.spawnGeneration);
     compoundTag.put(POSITION_TAG, NbtUtils.writeBlockPos(this.blockPos));
     if (!this.levelName.isEmpty()) {
       compoundTag.putString(LEVEL_TAG, this.levelName);
@@ -505,6 +591,7 @@ public class PlayerCompanionData {
     // Storing current companion entity data if available (regardless of disc status)
     if (playerCompanionEntity != null && playerCompanionEntity.isAlive()) {
       this.entityData = playerCompanionEntity.serializeNBT();
+      this.spawnTemplate = null;
     }
 
     // Include only companion fully entity data, if requested.
@@ -0,0 +1,167 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.data;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.minecraft.core.NonNullList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+public class PlayerCompanionInventoryIndex {
+
+  // Slots with stack-able items which are not full yet, keyed by item and tags.
+  private final Map<ItemKey, BitSet> mergeableSlotMap = new HashMap<>();
+  private final BitSet freeSlots = new BitSet();
+  // Smallest number of items per key, which could not be stored anymore.
+  private final Map<ItemKey, Integer> fullItemKeyMap = new HashMap<>();
+  private ItemKey[] slotItemKeys = new ItemKey[0];
+  private boolean valid = false;
+
+  public void invalidate() {
+    this.valid = false;
+  }
+
+  public boolean hasSpace(NonNullList<ItemStack> inventory) {
+    update(inventory);
+    return !this.freeSlots.isEmpty() || !this.mergeableSlotMap.isEmpty();
+  }
+
+  public boolean isFullFor(NonNullList<ItemStack> inventory, ItemStack itemStack) {
+    update(inventory);
+    if (!this.freeSlots.isEmpty()) {
+      return false;
+    }
+    if (itemStack.getMaxStackSize() <= 1) {
+      return true;
+    }
+    ItemKey itemKey = getItemKey(itemStack);
+    return isMarkedFull(itemKey, itemStack) || !this.mergeableSlotMap.containsKey(itemKey);
+  }
+
+  public int findMergeableSlot(NonNullList<ItemStack> inventory, ItemStack itemStack) {
+    update(inventory);
+    if (itemStack.getMaxStackSize() <= 1) {
+      return -1;
+    }
+    ItemKey itemKey = getItemKey(itemStack);
+    if (isMarkedFull(itemKey, itemStack)) {
+      return -1;
+    }
+    BitSet slots = this.mergeableSlotMap.get(itemKey);
+    if (slots != null) {
+      int numberOfItems = itemStack.getCount();
+      for (int index = slots.nextSetBit(0); index >= 0; index = slots.nextSetBit(index + 1)) {
+        ItemStack existingItems = inventory.get(index);
+        if (ItemStack.isSameItemSameTags(existingItems, itemStack)
+            && existingItems.getCount() + numberOfItems < existingItems.getMaxStackSize()) {
+          return index;
+        }
+      }
+    }
+    return -1;
+  }
+
+  public int findFreeSlot(NonNullList<ItemStack> inventory) {
+    update(inventory);
+    return this.freeSlots.nextSetBit(0);
+  }
+
+  public void markFull(ItemStack itemStack) {
+    // Smaller stacks of the same item could still fit into the remaining space.
+    if (this.valid && !itemStack.isEmpty()) {
+      this.fullItemKeyMap.merge(getItemKey(itemStack).copy(), itemStack.getCount(), Math::min);
+    }
+  }
+
+  public void updateSlot(NonNullList<ItemStack> inventory, int index) {
+    if (!this.valid || index < 0 || index >= this.slotItemKeys.length) {
+      this.valid = false;
+      return;
+    }
+
+    // Remove old slot state.
+    ItemKey itemKey = this.slotItemKeys[index];
+    if (itemKey != null) {
+      BitSet slots = this.mergeableSlotMap.get(itemKey);
+      if (slots != null) {
+        slots.clear(index);
+        if (slots.isEmpty()) {
+          this.mergeableSlotMap.remove(itemKey);
+        }
+      }
+      this.slotItemKeys[index] = null;
+    }
+    this.freeSlots.clear(index);
+
+    // Add new slot state, any new space resets the full flags.
+    if (indexSlot(inventory.get(index), index)) {
+      this.fullItemKeyMap.clear();
+    }
+  }
+
+  private boolean isMarkedFull(ItemKey itemKey, ItemStack itemStack) {
+    Integer numberOfItems = this.fullItemKeyMap.get(itemKey);
+    return numberOfItems != null && itemStack.getCount() >= numberOfItems;
+  }
+
+  private boolean indexSlot(ItemStack itemStack, int index) {
+    if (itemStack.isEmpty()) {
+      this.freeSlots.set(index);
+      return true;
+    } else if (itemStack.isStackable() && itemStack.getCount() < itemStack.getMaxStackSize()) {
+      ItemKey itemKey = getItemKey(itemStack).copy();
+      this.mergeableSlotMap.computeIfAbsent(itemKey, key -> new BitSet()).set(index);
+      this.slotItemKeys[index] = itemKey;
+      return true;
+    }
+    return false;
+  }
+
+  private void update(NonNullList<ItemStack> inventory) {
+    if (this.valid) {
+      return;
+    }
+    this.mergeableSlotMap.clear();
+    this.freeSlots.clear();
+    this.fullItemKeyMap.clear();
+    this.slotItemKeys = new ItemKey[inventory.size()];
+    for (int index = 0; index < inventory.size(); index++) {
+      indexSlot(inventory.get(index), index);
+    }
+    this.valid = true;
+  }
+
+  private static ItemKey getItemKey(ItemStack itemStack) {
+    return new ItemKey(itemStack.getItem(), itemStack.getTag());
+  }
+
+  private record ItemKey(Item item, CompoundTag tag) {
+
+    // Stored keys need their own tag, because item stack tags could be changed in place.
+    ItemKey copy() {
+      return this.tag == null ? this : new ItemKey(this.item, this.tag.copy());
+    }
+  }
+
+}
@@ -61,7 +61,7 @@ public class PlayerCompanionDamageManager {
   @SubscribeEvent
   public static void handleLivingAttackEvent(LivingAttackEvent event) {
     // Ignore event if friendly fire is enabled!
-    if (Boolean.TRUE.equals(COMMON.friendlyFire.get())) {
+    if (CommonConfig.getSnapshot().friendlyFire) {
       return;
     }
 
@@ -75,7 +75,7 @@ public class PlayerCompanionDamageManager {
   @SubscribeEvent
   public static void handleLivingHurtEvent(LivingHurtEvent event) {
     // Ignore event if friendly fire is enabled!
-    if (Boolean.TRUE.equals(COMMON.friendlyFire.get())) {
+    if (CommonConfig.getSnapshot().friendlyFire) {
       return;
     }
 
@@ -118,6 +118,6 @@ public class PlayerCompanionDamageManager {
 
     // Avoid damage from other tamed animals with the same owner.
     return damageSourceEntity instanceof TamableAnimal tamableAnimal
-        && tamableAnimal.getOwner() != null && ownerUUID.equals(tamableAnimal.getOwner().getUUID());
+        && ownerUUID.equals(tamableAnimal.getOwnerUUID());
   }
 }
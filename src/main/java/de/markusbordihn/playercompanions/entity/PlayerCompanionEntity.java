@@ -21,6 +21,7 @@ package de.markusbordihn.playercompanions.entity;
 
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import javax.annotation.Nullable;
 
@@ -68,9 +69,11 @@ import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 
 import de.markusbordihn.playercompanions.Constants;
 import de.markusbordihn.playercompanions.block.LightBlock;
+import de.markusbordihn.playercompanions.block.LightBlockManager;
 import de.markusbordihn.playercompanions.client.keymapping.ModKeyMapping;
 import de.markusbordihn.playercompanions.data.PlayerCompanionsServerData;
 import de.markusbordihn.playercompanions.config.CommonConfig;
+import de.markusbordihn.playercompanions.entity.ai.goal.DormantGoalSelector;
 import de.markusbordihn.playercompanions.entity.ai.goal.FoodItemGoal;
 import de.markusbordihn.playercompanions.entity.ai.goal.TameItemGoal;
 import de.markusbordihn.playercompanions.item.CapturedCompanion;
@@ -101,8 +104,12 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
   // Additional ticker
   private static final int INACTIVE_TICK = 100;
   private static final int GLOW_TICK = LightBlock.TICK_TTL / 2;
+  private static final int DORMANT_DELAY = 100;
   private int ticker = 0;
   private int glowTicker = 0;
+  private int lastWakeUpTick = 0;
+  private final DormantGoalSelector dormantGoalSelector =
+      new DormantGoalSelector(this.goalSelector, this.targetSelector);
 
   // Temporary states
   private boolean wasOnGround;
@@ -167,6 +174,15 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
     this.navigation.recomputePath();
   }
 
+  public void wakeUp() {
+    this.lastWakeUpTick = this.tickCount;
+    this.dormantGoalSelector.wake();
+  }
+
+  public boolean isDormant() {
+    return this.dormantGoalSelector.isDormant();
+  }
+
   protected void sit() {
     this.setActionType(ActionType.SIT);
     this.setOrderedToSit(true);
@@ -217,6 +233,7 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
   }
 
   public void handleCommand(PlayerCompanionCommand command) {
+    wakeUp();
     switch (command) {
       case SIT:
         sit();
@@ -286,6 +303,10 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
     }
   }
 
+  public PlayerCompanionsFeatures getFeatures() {
+    return null;
+  }
+
   public void sendOwnerMessage(Component component) {
     LivingEntity owner = this.getOwner();
     if (component != null && owner != null) {
@@ -294,7 +315,7 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
   }
 
   public boolean canRespawnOnDeath() {
-    return Boolean.TRUE.equals(COMMON.respawnOnDeath.get());
+    return CommonConfig.getSnapshot().respawnOnDeath;
   }
 
   @Override
@@ -350,8 +371,9 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
     }
 
     // Ignore entities from the same Owner.
-    if (!COMMON.friendlyFire.get() && livingEntity instanceof TamableAnimal tamableAnimal
-        && tamableAnimal.getOwner() == this.getOwner()) {
+    if (!CommonConfig.getSnapshot().friendlyFire
+        && livingEntity instanceof TamableAnimal tamableAnimal
+        && Objects.equals(tamableAnimal.getOwnerUUID(), this.getOwnerUUID())) {
       return;
     }
 
@@ -472,6 +494,11 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
       }
     }
 
+    // Wake up sleeping companion, if the owner is interacting with it.
+    if (isOwner && !this.level.isClientSide) {
+      wakeUp();
+    }
+
     // Health companion with food item, from any player.
     if (this.isFood(itemStack)) {
       if (this.canEat(itemStack)) {
@@ -540,6 +567,12 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
     // Perform tick for AI and other important steps.
     super.tick();
 
+    // ServerSide: Only keep the minimal set of goals, if companion is sitting for a while.
+    if (!this.level.isClientSide && this.isOrderedToSit() && !this.isDormant()
+        && this.tickCount - this.lastWakeUpTick >= DORMANT_DELAY) {
+      this.dormantGoalSelector.sleep();
+    }
+
     // Allow do disable entity to save performance and to allow basic respawn logic.
     if (!isActive()) {
       if (this.ticker++ >= INACTIVE_TICK) {
@@ -549,13 +582,18 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
       }
     }
 
-    // ServerSide: Place light block, if companion should glow in the dark.
-    if (!this.level.isClientSide && this.shouldGlowInTheDark() && this.glowTicker++ >= GLOW_TICK) {
+    // ServerSide: Place light block or let the client render the light, if companion should glow
+    // in the dark.
+    if (!this.level.isClientSide && this.shouldGlowInTheDark() && this.glowTicker++ >= GLOW_TICK
+        && PlayerCompanionTickBudget.canRun(TickPriority.COSMETIC, this)) {
+      GlowMode glowMode = CommonConfig.getSnapshot().glowMode;
       BlockPos lightBlockPos = this.getOnPos();
-      if (this.level.isNight() || this.level.isRaining() || this.level.isThundering()
-          || !this.level.canSeeSky(lightBlockPos)) {
-        LightBlock.place(level, lightBlockPos);
+      boolean isDark = this.level.isNight() || this.level.isRaining()
+          || this.level.isThundering() || !this.level.canSeeSky(lightBlockPos);
+      if (glowMode == GlowMode.LIGHT_BLOCK && isDark) {
+        LightBlockManager.place(this, lightBlockPos);
       }
+      this.setVirtualLight(glowMode == GlowMode.CLIENT && isDark);
       this.glowTicker = 0;
     }
 
@@ -599,13 +637,13 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
         // Decrease Experience Level
         decreaseExperienceLevel();
 
-        if (COMMON.respawnDelay.get() > 1) {
-          setRespawnTimer(
-              (int) java.time.Instant.now().getEpochSecond() + COMMON.respawnDelay.get());
+        if (CommonConfig.getSnapshot().respawnDelay > 1) {
+          setRespawnTimer((int) java.time.Instant.now().getEpochSecond()
+              + CommonConfig.getSnapshot().respawnDelay);
         }
         sendOwnerMessage(Component.translatable(
             Util.makeDescriptionId(Constants.ENTITY_TEXT_PREFIX, WILL_RESPAWN_MESSAGE),
-            getCustomName(), COMMON.respawnDelay.get()));
+            getCustomName(), CommonConfig.getSnapshot().respawnDelay));
       } else {
         // Inform owner about dead of companion and possible respawn.
         sendOwnerMessage(Component.translatable(
@@ -627,6 +665,17 @@ public class PlayerCompanionEntity extends PlayerCompanionEntityData
       super.setOrderedToSit(sit);
       setDataSyncNeeded();
     }
+    if (!sit) {
+      wakeUp();
+    }
+  }
+
+  @Override
+  public boolean hurt(DamageSource damageSource, float damage) {
+    if (!this.level.isClientSide) {
+      wakeUp();
+    }
+    return super.hurt(damageSource, damage);
   }
 
   @Override
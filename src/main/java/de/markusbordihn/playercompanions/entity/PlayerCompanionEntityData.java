@@ -37,6 +37,7 @@ import net.minecraft.network.syncher.EntityDataSerializers;
 import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
 import net.minecraft.util.TimeUtil;
 import net.minecraft.util.valueproviders.UniformInt;
 import net.minecraft.world.entity.AgeableMob;
@@ -65,6 +66,8 @@ import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 
 import de.markusbordihn.playercompanions.Constants;
 import de.markusbordihn.playercompanions.config.CommonConfig;
+import de.markusbordihn.playercompanions.data.Experience;
+import de.markusbordihn.playercompanions.data.ExperienceCurve;
 import de.markusbordihn.playercompanions.data.PlayerCompanionData;
 import de.markusbordihn.playercompanions.data.PlayerCompanionsDataSync;
 import de.markusbordihn.playercompanions.skin.SkinModel;
@@ -97,6 +100,8 @@ public class PlayerCompanionEntityData extends TamableAnimal
       SynchedEntityData.defineId(PlayerCompanionEntityData.class, EntityDataSerializers.STRING);
   private static final EntityDataAccessor<String> DATA_VARIANT =
       SynchedEntityData.defineId(PlayerCompanionEntityData.class, EntityDataSerializers.STRING);
+  private static final EntityDataAccessor<Boolean> DATA_VIRTUAL_LIGHT =
+      SynchedEntityData.defineId(PlayerCompanionEntityData.class, EntityDataSerializers.BOOLEAN);
   protected static final EntityDataAccessor<Integer> DATA_REMAINING_ANGER_TIME =
       SynchedEntityData.defineId(PlayerCompanionEntityData.class, EntityDataSerializers.INT);
 
@@ -137,6 +142,11 @@ public class PlayerCompanionEntityData extends TamableAnimal
 
   // Internal references
   private PlayerCompanionEntity playerCompanionEntity;
+  private LivingEntity cachedOwner;
+  private int cachedOwnerVersion = -1;
+
+  // Tick budget state, deferred work per priority since the last run.
+  private final boolean[] tickBudgetDeferred = new boolean[TickPriority.values().length];
 
   // Additional ticker
   private static final int DATA_SYNC_TICK = 10;
@@ -228,6 +238,10 @@ public class PlayerCompanionEntityData extends TamableAnimal
     }
   }
 
+  protected boolean[] getTickBudgetDeferred() {
+    return this.tickBudgetDeferred;
+  }
+
   public boolean getDataSyncNeeded() {
     return this.isDataSyncNeeded;
   }
@@ -303,12 +317,23 @@ public class PlayerCompanionEntityData extends TamableAnimal
 
   public void setGlowInTheDark(boolean glowInTheDark) {
     this.shouldGlowInTheDark = glowInTheDark;
+    if (!glowInTheDark && !this.level.isClientSide) {
+      setVirtualLight(false);
+    }
   }
 
   public boolean shouldGlowInTheDark() {
     return this.shouldGlowInTheDark;
   }
 
+  public void setVirtualLight(boolean virtualLight) {
+    this.entityData.set(DATA_VIRTUAL_LIGHT, virtualLight);
+  }
+
+  public boolean hasVirtualLight() {
+    return this.entityData.get(DATA_VIRTUAL_LIGHT);
+  }
+
   public int getExperience() {
     return this.entityData.get(DATA_EXPERIENCE);
   }
@@ -319,7 +344,7 @@ public class PlayerCompanionEntityData extends TamableAnimal
       if (isMaxExperienceLevel()) {
         return -1;
       } else if (getExperienceForNextLevel() <= getExperience()) {
-        return increaseExperienceLevel(1);
+        return setExperienceLevel(getExperienceCurve().getLevelFromExperience(experience));
       } else if (getExperienceForLevel() >= getExperience()) {
         decreaseExperienceLevel(1);
       }
@@ -327,6 +352,11 @@ public class PlayerCompanionEntityData extends TamableAnimal
     return -1;
   }
 
+  @Override
+  public ExperienceCurve getExperienceCurve() {
+    return Experience.getCurve(getCompanionType());
+  }
+
   public int getExperienceLevel() {
     return this.entityData.get(DATA_EXPERIENCE_LEVEL);
   }
@@ -447,6 +477,30 @@ public class PlayerCompanionEntityData extends TamableAnimal
     return this.getOwnerUUID() != null;
   }
 
+  @Override
+  public void setOwnerUUID(@Nullable UUID uuid) {
+    super.setOwnerUUID(uuid);
+    this.cachedOwnerVersion = -1;
+  }
+
+  @Override
+  @Nullable
+  public LivingEntity getOwner() {
+    // Owner UUIDs are synced without any hook on the client side, so only cache server-side.
+    if (this.level.isClientSide) {
+      return super.getOwner();
+    }
+    LivingEntity owner = this.cachedOwner;
+    int ownerCacheVersion = PlayerCompanionOwnerProximity.getOwnerCacheVersion();
+    if (this.cachedOwnerVersion != ownerCacheVersion
+        || (owner != null && (owner.isRemoved() || owner.level != this.level))) {
+      owner = super.getOwner();
+      this.cachedOwner = owner;
+      this.cachedOwnerVersion = ownerCacheVersion;
+    }
+    return owner;
+  }
+
   public boolean hasOwnerAndIsAlive() {
     return this.getOwnerUUID() != null && this.isAlive();
   }
@@ -564,7 +618,8 @@ public class PlayerCompanionEntityData extends TamableAnimal
   }
 
   public void adjustMaxHealthPerLevel(int level) {
-    int healthAdjustment = getHealthAdjustmentFromExperienceLevel(level, COMMON.maxHealth.get(),
+    int healthAdjustment = getHealthAdjustmentFromExperienceLevel(level,
+        CommonConfig.getSnapshot().maxHealth,
         (int) getAttribute(Attributes.MAX_HEALTH).getBaseValue());
     increaseMaxHealth(healthAdjustment);
   }
@@ -597,7 +652,8 @@ public class PlayerCompanionEntityData extends TamableAnimal
 
   public void adjustAttackDamagePerLevel(int level) {
     int attackDamageAdjustment = getAttackDamageAdjustmentFromExperienceLevel(level,
-        COMMON.maxAttackDamage.get(), (int) getAttribute(Attributes.ATTACK_DAMAGE).getBaseValue());
+        CommonConfig.getSnapshot().maxAttackDamage,
+        (int) getAttribute(Attributes.ATTACK_DAMAGE).getBaseValue());
     increaseAttackDamage(attackDamageAdjustment);
   }
 
@@ -682,6 +738,7 @@ public class PlayerCompanionEntityData extends TamableAnimal
   protected void defineSynchedData() {
     super.defineSynchedData();
     this.entityData.define(DATA_ACTIVE, true);
+    this.entityData.define(DATA_VIRTUAL_LIGHT, false);
     this.entityData.define(DATA_EXPERIENCE, 1);
     this.entityData.define(DATA_EXPERIENCE_LEVEL, 1);
     this.entityData.define(DATA_IS_CHARGING, false);
@@ -718,7 +775,8 @@ public class PlayerCompanionEntityData extends TamableAnimal
     this.setActive(compoundTag.getBoolean(DATA_ACTIVE_TAG));
 
     // Handle experience, level and relevant modifier.
-    this.setExperienceLevel(Math.max(compoundTag.getInt(DATA_EXPERIENCE_LEVEL_TAG), 1));
+    this.setExperienceLevel(Mth.clamp(compoundTag.getInt(DATA_EXPERIENCE_LEVEL_TAG),
+        getMinExperienceLevel(), getMaxExperienceLevel()));
     this.setExperience(Math.max(compoundTag.getInt(DATA_EXPERIENCE_TAG), 1));
     int experienceLevel = this.getExperienceLevel();
     if (experienceLevel > getMinExperienceLevel()) {
@@ -772,7 +830,8 @@ public class PlayerCompanionEntityData extends TamableAnimal
     super.tick();
 
     // ServerSide: Automatically Sync Data, if needed.
-    if (!this.level.isClientSide && this.dataSyncTicker++ >= DATA_SYNC_TICK && syncDataIfNeeded()) {
+    if (!this.level.isClientSide && this.dataSyncTicker++ >= DATA_SYNC_TICK
+        && PlayerCompanionTickBudget.canRun(TickPriority.COSMETIC, this) && syncDataIfNeeded()) {
       this.dataSyncTicker = 0;
     }
   }
@@ -20,6 +20,7 @@
 package de.markusbordihn.playercompanions.entity;
 
 import de.markusbordihn.playercompanions.data.Experience;
+import de.markusbordihn.playercompanions.data.ExperienceCurve;
 
 public interface PlayerCompanionExperience {
 
@@ -37,6 +38,10 @@ public interface PlayerCompanionExperience {
 
   public void onExperienceChange(int experience);
 
+  public default ExperienceCurve getExperienceCurve() {
+    return Experience.getDefaultCurve();
+  }
+
   public default boolean isMaxExperienceLevel() {
     return getExperienceLevel() >= getMaxExperienceLevel();
   }
@@ -46,7 +51,7 @@ public interface PlayerCompanionExperience {
   }
 
   public default int getMaxExperienceLevel() {
-    return Experience.MAX_LEVEL;
+    return getExperienceCurve().getMaxLevel();
   }
 
   public default int getMinExperienceLevel() {
@@ -62,7 +67,7 @@ public interface PlayerCompanionExperience {
   }
 
   public default void decreaseExperienceAndExperienceLevel() {
-    decreaseExperience(Experience.getExperienceDifferenceForLevel(getExperienceLevel()));
+    decreaseExperience(getExperienceCurve().getExperienceDifferenceForLevel(getExperienceLevel()));
   }
 
   public default void increaseExperience(int experience) {
@@ -83,11 +88,11 @@ public interface PlayerCompanionExperience {
   }
 
   public default int getExperienceForNextLevel() {
-    return Experience.getExperienceForNextLevel(getExperienceLevel());
+    return getExperienceCurve().getExperienceForNextLevel(getExperienceLevel());
   }
 
   public default int getExperienceForLevel() {
-    return Experience.getExperienceForLevel(getExperienceLevel());
+    return getExperienceCurve().getExperienceForLevel(getExperienceLevel());
   }
 
   public default int getHealthAdjustmentFromExperienceLevel(int level, int maxHealth,
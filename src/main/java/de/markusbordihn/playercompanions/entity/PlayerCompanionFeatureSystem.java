@@ -0,0 +1,151 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.world.level.Level;
+
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.playercompanions.entity.type.PlayerCompanionType;
+
+@EventBusSubscriber
+public class PlayerCompanionFeatureSystem {
+
+  private static final PlayerCompanionType[] COMPANION_TYPES = PlayerCompanionType.values();
+
+  // Server-side companion features per level and companion type, which are ticked in batches.
+  private static Map<Level, Map<PlayerCompanionType, FeatureBatch>> featureBatchMap =
+      new ConcurrentHashMap<>();
+
+  protected PlayerCompanionFeatureSystem() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    featureBatchMap = new ConcurrentHashMap<>();
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      featureBatchMap.remove(level);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleEntityJoinLevelEvent(EntityJoinLevelEvent event) {
+    if (!event.getLevel().isClientSide()
+        && event.getEntity() instanceof PlayerCompanionEntity playerCompanionEntity
+        && playerCompanionEntity.getFeatures() != null) {
+      featureBatchMap.computeIfAbsent(event.getLevel(), key -> new EnumMap<>(
+          PlayerCompanionType.class))
+          .computeIfAbsent(playerCompanionEntity.getCompanionType(), key -> new FeatureBatch())
+          .add(playerCompanionEntity.getFeatures());
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleLevelTickEvent(TickEvent.LevelTickEvent event) {
+    if (event.phase != TickEvent.Phase.END || event.level.isClientSide) {
+      return;
+    }
+    Map<PlayerCompanionType, FeatureBatch> levelFeatureBatchMap =
+        featureBatchMap.get(event.level);
+    if (levelFeatureBatchMap != null) {
+      // Tick all features of the same type in one pass.
+      for (PlayerCompanionType type : COMPANION_TYPES) {
+        FeatureBatch featureBatch = levelFeatureBatchMap.get(type);
+        if (featureBatch != null) {
+          featureBatch.tick();
+        }
+      }
+    }
+  }
+
+  public static int getSize(Level level, PlayerCompanionType type) {
+    Map<PlayerCompanionType, FeatureBatch> levelFeatureBatchMap = featureBatchMap.get(level);
+    FeatureBatch featureBatch =
+        levelFeatureBatchMap != null ? levelFeatureBatchMap.get(type) : null;
+    return featureBatch != null ? featureBatch.size : 0;
+  }
+
+  private static class FeatureBatch {
+    private final Set<PlayerCompanionsFeatures> registered =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+    private PlayerCompanionsFeatures[] features = new PlayerCompanionsFeatures[16];
+    private int[] lastTickCounts = new int[16];
+    private int size = 0;
+
+    private void add(PlayerCompanionsFeatures playerCompanionsFeatures) {
+      if (!this.registered.add(playerCompanionsFeatures)) {
+        return;
+      }
+      if (this.size == this.features.length) {
+        this.features = Arrays.copyOf(this.features, this.size * 2);
+        this.lastTickCounts = Arrays.copyOf(this.lastTickCounts, this.size * 2);
+      }
+      this.features[this.size] = playerCompanionsFeatures;
+      this.lastTickCounts[this.size] = playerCompanionsFeatures.playerCompanionEntity.tickCount;
+      this.size++;
+    }
+
+    private void remove(int index) {
+      this.registered.remove(this.features[index]);
+      this.size--;
+      this.features[index] = this.features[this.size];
+      this.lastTickCounts[index] = this.lastTickCounts[this.size];
+      this.features[this.size] = null;
+    }
+
+    private void tick() {
+      int index = 0;
+      while (index < this.size) {
+        PlayerCompanionsFeatures playerCompanionsFeatures = this.features[index];
+        PlayerCompanionEntity playerCompanionEntity =
+            playerCompanionsFeatures.playerCompanionEntity;
+        if (playerCompanionEntity.isRemoved()) {
+          remove(index);
+          continue;
+        }
+
+        // Only tick features of companions which are ticked by the level in this tick.
+        int tickCount = playerCompanionEntity.tickCount;
+        if (tickCount != this.lastTickCounts[index]) {
+          this.lastTickCounts[index] = tickCount;
+          playerCompanionsFeatures.tick();
+        }
+        index++;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import de.markusbordihn.playercompanions.Constants;
+import de.markusbordihn.playercompanions.config.CommonConfig;
+import de.markusbordihn.playercompanions.data.PlayerCompanionData;
+import de.markusbordihn.playercompanions.data.PlayerCompanionsServerData;
+
+@EventBusSubscriber
+public class PlayerCompanionHibernationManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final CommonConfig.Config COMMON = CommonConfig.COMMON;
+
+  private static final short HIBERNATION_TICK = 20 * 5;
+
+  // Owner UUID and the epoch second they went offline.
+  private static Map<UUID, Long> offlineOwnerMap = new ConcurrentHashMap<>();
+  private static Set<UUID> hibernatedOwnerSet = ConcurrentHashMap.newKeySet();
+  private static Set<PlayerCompanionEntity> hibernationQueue = ConcurrentHashMap.newKeySet();
+  private static short ticks = 0;
+
+  protected PlayerCompanionHibernationManager() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    offlineOwnerMap = new ConcurrentHashMap<>();
+    hibernatedOwnerSet = ConcurrentHashMap.newKeySet();
+    hibernationQueue = ConcurrentHashMap.newKeySet();
+    ticks = 0;
+
+    if (Boolean.TRUE.equals(COMMON.hibernationEnabled.get())) {
+      log.info("{} Companions will hibernate {} seconds after their owner went offline.",
+          Constants.LOG_ICON, COMMON.hibernationDelay.get());
+    } else {
+      log.info("{} Companion hibernation is disabled!", Constants.LOG_ICON);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleServerStartedEvent(ServerStartedEvent event) {
+    // All known owners which are not online are considered as offline since the server start.
+    MinecraftServer server = event.getServer();
+    PlayerCompanionsServerData serverData = PlayerCompanionsServerData.get();
+    if (server == null || serverData == null) {
+      return;
+    }
+    long now = java.time.Instant.now().getEpochSecond();
+    for (PlayerCompanionData playerCompanionData : serverData.getCompanions().values()) {
+      UUID ownerUUID = playerCompanionData.getOwnerUUID();
+      if (ownerUUID != null && server.getPlayerList().getPlayer(ownerUUID) == null) {
+        offlineOwnerMap.putIfAbsent(ownerUUID, now);
+      }
+    }
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerLoggedOutEvent(PlayerEvent.PlayerLoggedOutEvent event) {
+    if (event.getEntity() instanceof ServerPlayer serverPlayer) {
+      offlineOwnerMap.put(serverPlayer.getUUID(), java.time.Instant.now().getEpochSecond());
+    }
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerLoggedInEvent(PlayerEvent.PlayerLoggedInEvent event) {
+    if (event.getEntity() instanceof ServerPlayer serverPlayer) {
+      offlineOwnerMap.remove(serverPlayer.getUUID());
+      hibernatedOwnerSet.remove(serverPlayer.getUUID());
+      wakeUpCompanions(serverPlayer);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleEntityJoinLevelEvent(EntityJoinLevelEvent event) {
+    // Companions of hibernated owners could re-appear later, if their chunk is loaded again.
+    if (!event.getLevel().isClientSide()
+        && event.getEntity() instanceof PlayerCompanionEntity playerCompanionEntity
+        && playerCompanionEntity.hasOwner()
+        && hibernatedOwnerSet.contains(playerCompanionEntity.getOwnerUUID())) {
+      hibernationQueue.add(playerCompanionEntity);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleServerTickEvent(TickEvent.ServerTickEvent event) {
+    if (event.phase != TickEvent.Phase.END || ticks++ < HIBERNATION_TICK) {
+      return;
+    }
+    ticks = 0;
+
+    if (!hibernationQueue.isEmpty()) {
+      Iterator<PlayerCompanionEntity> iterator = hibernationQueue.iterator();
+      while (iterator.hasNext()) {
+        PlayerCompanionEntity playerCompanionEntity = iterator.next();
+        if (playerCompanionEntity.isAlive()) {
+          hibernate(playerCompanionEntity);
+        }
+        iterator.remove();
+      }
+    }
+
+    if (CommonConfig.getSnapshot().hibernationEnabled && !offlineOwnerMap.isEmpty()) {
+      hibernateOfflineOwners();
+    }
+  }
+
+  public static boolean isHibernated(UUID ownerUUID) {
+    return hibernatedOwnerSet.contains(ownerUUID);
+  }
+
+  private static void hibernateOfflineOwners() {
+    MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+    PlayerCompanionsServerData serverData = PlayerCompanionsServerData.get();
+    if (server == null || serverData == null) {
+      return;
+    }
+
+    long hibernationTime =
+        java.time.Instant.now().getEpochSecond() - CommonConfig.getSnapshot().hibernationDelay;
+    for (Map.Entry<UUID, Long> offlineOwner : offlineOwnerMap.entrySet()) {
+      UUID ownerUUID = offlineOwner.getKey();
+      if (offlineOwner.getValue() > hibernationTime || hibernatedOwnerSet.contains(ownerUUID)) {
+        continue;
+      }
+
+      int numberOfHibernatedCompanions = 0;
+      Set<PlayerCompanionData> playerCompanions = serverData.getCompanions(ownerUUID);
+      if (playerCompanions != null) {
+        for (PlayerCompanionData playerCompanionData : playerCompanions) {
+          if (playerCompanionData.isHibernated()) {
+            continue;
+          }
+          Entity entity =
+              PlayerCompanionSpawnManager.getCompanionEntity(server, playerCompanionData);
+          if (entity instanceof PlayerCompanionEntity playerCompanionEntity
+              && playerCompanionEntity.isAlive() && hibernate(playerCompanionEntity)) {
+            numberOfHibernatedCompanions++;
+          }
+        }
+      }
+      if (numberOfHibernatedCompanions > 0) {
+        log.info("{} Hibernated {} companions of offline owner {}", Constants.LOG_ICON,
+            numberOfHibernatedCompanions, ownerUUID);
+      }
+      hibernatedOwnerSet.add(ownerUUID);
+    }
+  }
+
+  private static boolean hibernate(PlayerCompanionEntity playerCompanionEntity) {
+    PlayerCompanionsServerData serverData = PlayerCompanionsServerData.get();
+    PlayerCompanionData playerCompanionData =
+        serverData != null ? serverData.getCompanion(playerCompanionEntity) : null;
+    if (playerCompanionData == null
+        || !PlayerCompanionSpawnManager.despawn(playerCompanionEntity)) {
+      return false;
+    }
+    log.debug("Hibernate companion {} ...", playerCompanionEntity);
+    playerCompanionData.setHibernated(true);
+    return true;
+  }
+
+  private static void wakeUpCompanions(ServerPlayer serverPlayer) {
+    PlayerCompanionsServerData serverData = PlayerCompanionsServerData.get();
+    if (serverData == null) {
+      return;
+    }
+    Set<PlayerCompanionData> playerCompanions = serverData.getCompanions(serverPlayer.getUUID());
+    if (playerCompanions == null) {
+      return;
+    }
+
+    for (PlayerCompanionData playerCompanionData : playerCompanions) {
+      if (!playerCompanionData.isHibernated()) {
+        continue;
+      }
+      playerCompanionData.setHibernated(false);
+
+      // Sitting or positioned companions are restored at their saved position, all other
+      // companions are restored next to their owner.
+      ServerLevel savedLevel = playerCompanionData.getLevelKey() != null
+          ? serverPlayer.getServer().getLevel(playerCompanionData.getLevelKey())
+          : null;
+      boolean hasWokenUp = false;
+      if (savedLevel != null && playerCompanionData.getBlockPos() != null
+          && (playerCompanionData.isOrderedToSit()
+              || playerCompanionData.isOrderedToPosition())) {
+        hasWokenUp = PlayerCompanionSpawnManager.spawn(playerCompanionData.getUUID(),
+            serverPlayer, savedLevel, playerCompanionData.getBlockPos());
+      }
+      if (!hasWokenUp) {
+        hasWokenUp = PlayerCompanionSpawnManager.spawn(playerCompanionData.getUUID(), serverPlayer);
+      }
+      if (hasWokenUp) {
+        log.debug("Woke up companion {} for {}", playerCompanionData, serverPlayer);
+      } else {
+        log.warn("Unable to wake up companion {} for {}, please summon it manually!",
+            playerCompanionData, serverPlayer);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+@EventBusSubscriber
+public class PlayerCompanionOwnerProximity {
+
+  private static final OwnerPosition NO_OWNER = new OwnerPosition(null, null);
+
+  // Owner lookups are shared between all companions of the same owner and level per tick.
+  private static Map<Level, LevelOwnerCache> levelOwnerCacheMap = new ConcurrentHashMap<>();
+
+  // Version for cached owner references, which is increased with any owner relevant change.
+  private static int ownerCacheVersion = 0;
+
+  protected PlayerCompanionOwnerProximity() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    levelOwnerCacheMap = new ConcurrentHashMap<>();
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      levelOwnerCacheMap.remove(level);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerLoggedInEvent(PlayerEvent.PlayerLoggedInEvent event) {
+    invalidateOwnerCache();
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerLoggedOutEvent(PlayerEvent.PlayerLoggedOutEvent event) {
+    invalidateOwnerCache();
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerChangedDimensionEvent(
+      PlayerEvent.PlayerChangedDimensionEvent event) {
+    invalidateOwnerCache();
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerRespawnEvent(PlayerEvent.PlayerRespawnEvent event) {
+    invalidateOwnerCache();
+  }
+
+  public static int getOwnerCacheVersion() {
+    return ownerCacheVersion;
+  }
+
+  public static void invalidateOwnerCache() {
+    ownerCacheVersion++;
+  }
+
+  public static Player getOwner(Level level, UUID ownerUUID) {
+    return getOwnerPosition(level, ownerUUID).player();
+  }
+
+  public static Vec3 getOwnerPosition(PlayerCompanionEntity playerCompanionEntity) {
+    return getOwnerPosition(playerCompanionEntity.getLevel(), playerCompanionEntity.getOwnerUUID())
+        .position();
+  }
+
+  public static double getOwnerDistanceSqr(PlayerCompanionEntity playerCompanionEntity) {
+    Vec3 ownerPosition = getOwnerPosition(playerCompanionEntity);
+    return ownerPosition != null ? playerCompanionEntity.position().distanceToSqr(ownerPosition)
+        : Double.MAX_VALUE;
+  }
+
+  public static boolean isOwnerNear(PlayerCompanionEntity playerCompanionEntity,
+      double distance) {
+    return getOwnerDistanceSqr(playerCompanionEntity) <= distance * distance;
+  }
+
+  public static boolean isOwnerNear(Entity entity, UUID ownerUUID, double distance) {
+    Vec3 ownerPosition = getOwnerPosition(entity.getLevel(), ownerUUID).position();
+    return ownerPosition != null
+        && entity.position().distanceToSqr(ownerPosition) <= distance * distance;
+  }
+
+  private static OwnerPosition getOwnerPosition(Level level, UUID ownerUUID) {
+    if (ownerUUID == null) {
+      return NO_OWNER;
+    }
+    LevelOwnerCache levelOwnerCache =
+        levelOwnerCacheMap.computeIfAbsent(level, key -> new LevelOwnerCache());
+
+    // Owner positions are only valid for the current tick.
+    long gameTime = level.getGameTime();
+    if (levelOwnerCache.gameTime != gameTime) {
+      levelOwnerCache.ownerPositions.clear();
+      levelOwnerCache.gameTime = gameTime;
+    }
+
+    return levelOwnerCache.ownerPositions.computeIfAbsent(ownerUUID, key -> {
+      Player player = level.getPlayerByUUID(key);
+      return player != null && player.isAlive() ? new OwnerPosition(player, player.position())
+          : NO_OWNER;
+    });
+  }
+
+  private record OwnerPosition(Player player, Vec3 position) {
+  }
+
+  private static class LevelOwnerCache {
+    private final Map<UUID, OwnerPosition> ownerPositions = new HashMap<>();
+    private long gameTime = Long.MIN_VALUE;
+  }
+
+}
@@ -58,6 +58,7 @@ public class PlayerCompanionSpawnManager {
   private static final String ON_GROUND_TAG = "OnGround";
 
   public static final String COMPANION_UUID_TAG = "CompanionUUID";
+  public static final String SPAWN_GENERATION_TAG = "PlayerCompanionSpawnGeneration";
 
   protected PlayerCompanionSpawnManager() {
 
@@ -104,6 +105,7 @@ public class PlayerCompanionSpawnManager {
 
     // If companion exits and alive, just port the companion to the player.
     if (playerCompanion != null && playerCompanion.isAlive()) {
+      markSpawned(PlayerCompanionsServerData.get().getCompanion(uuid));
       if (playerCompanion.closerThan(serverPlayer, 16)) {
         if (playerCompanion instanceof PlayerCompanionEntity playerCompanionEntity) {
           playerCompanionEntity.setOrderedToPosition(
@@ -129,8 +131,13 @@ public class PlayerCompanionSpawnManager {
     }
 
     // Prepare spawn of companion based on the existing data.
+    PlayerCompanionData playerCompanionData = PlayerCompanionsServerData.get().getCompanion(uuid);
     Entity entity = PlayerCompanionSpawnManager.createCompanionEntity(uuid, serverLevel);
-    if (entity != null) {
+    if (entity != null && playerCompanionData != null) {
+      // Older copies of this companion, e.g. in unloaded chunks, are discarded once loaded.
+      int spawnGeneration = playerCompanionData.getSpawnGeneration() + 1;
+      entity.getPersistentData().putInt(SPAWN_GENERATION_TAG, spawnGeneration);
+
       // Make sure we have an empty Block to spawn the entity, otherwise try above block.
       BlockState blockState = serverLevel.getBlockState(blockPos);
       if (!isValidSpawnPlace(blockState)) {
@@ -147,6 +154,8 @@ public class PlayerCompanionSpawnManager {
         log.debug("Spawn player companion {} ...", entity);
         if (serverLevel.addFreshEntity(entity)) {
           playerCompanion = entity;
+          playerCompanionData.setSpawnGeneration(spawnGeneration);
+          markSpawned(playerCompanionData);
           if (entity instanceof PlayerCompanionEntity playerCompanionEntity) {
             playerCompanionEntity.finalizeSpawn();
           }
@@ -177,6 +186,7 @@ public class PlayerCompanionSpawnManager {
         PlayerCompanionsServerData.get().updatePlayerCompanion(playerCompanionEntity);
     playerCompanionData.syncEntityData(livingEntity);
     log.debug("Despawn companion {} with {} ...", livingEntity, playerCompanionData);
+    playerCompanionData.setVirtualFollow(false);
 
     // Discarded Entity from the world.
     livingEntity.setRemoved(RemovalReason.DISCARDED);
@@ -184,10 +194,45 @@ public class PlayerCompanionSpawnManager {
     return true;
   }
 
+  public static boolean isStaleCompanionEntity(PlayerCompanionEntity playerCompanionEntity,
+      PlayerCompanionData playerCompanionData) {
+    return playerCompanionEntity.getPersistentData().getInt(
+        SPAWN_GENERATION_TAG) < playerCompanionData.getSpawnGeneration();
+  }
+
+  private static void markSpawned(PlayerCompanionData playerCompanionData) {
+    if (playerCompanionData != null) {
+      playerCompanionData.setCaptured(false);
+      playerCompanionData.setVirtualFollow(false);
+    }
+  }
+
   public static Entity getCompanionEntity(UUID uuid, ServerLevel serverLevel) {
     return uuid != null ? serverLevel.getEntity(uuid) : null;
   }
 
+  public static Entity getCompanionEntity(MinecraftServer server,
+      PlayerCompanionData playerCompanionData) {
+    // Check the last known level first, before checking all other levels.
+    ServerLevel serverLevel = playerCompanionData.getLevelKey() != null
+        ? server.getLevel(playerCompanionData.getLevelKey())
+        : null;
+    Entity entity =
+        serverLevel != null ? serverLevel.getEntity(playerCompanionData.getUUID()) : null;
+    if (entity != null) {
+      return entity;
+    }
+    for (ServerLevel serverLevelToCheck : server.getAllLevels()) {
+      if (serverLevelToCheck != serverLevel) {
+        entity = serverLevelToCheck.getEntity(playerCompanionData.getUUID());
+        if (entity != null) {
+          return entity;
+        }
+      }
+    }
+    return null;
+  }
+
   public static UUID getCompanionUUID(ItemStack itemStack) {
     CompoundTag compoundTag = itemStack.getOrCreateTag();
     if (compoundTag.hasUUID(COMPANION_UUID_TAG)) {
@@ -238,32 +283,55 @@ public class PlayerCompanionSpawnManager {
   public static Entity createCompanionEntity(PlayerCompanionData playerCompanion,
       ServerLevel serverLevel) {
     EntityType<?> entityType = playerCompanion.getEntityType();
-    CompoundTag entityData = playerCompanion.getEntityData();
+    CompoundTag spawnTemplate = getSpawnTemplate(playerCompanion);
     Entity entity = entityType.create(serverLevel);
-    if (entity != null && !entityData.isEmpty()) {
+    if (entity != null && !spawnTemplate.isEmpty()) {
+      // Entities could keep references to sub tags, so they only get a copy of the template.
+      entity.load(spawnTemplate.copy());
+    }
+    return entity;
+  }
 
-      // Restore health, if needed
-      if (entityData.contains(HEALTH_TAG) && entityData.getFloat(HEALTH_TAG) <= 0) {
-        entityData.putFloat(HEALTH_TAG, playerCompanion.getEntityHealthMax());
-      }
+  private static CompoundTag getSpawnTemplate(PlayerCompanionData playerCompanion) {
+    // The template is prepared once per snapshot and reset with the next snapshot.
+    CompoundTag spawnTemplate = playerCompanion.getSpawnTemplate();
+    if (spawnTemplate == null) {
+      spawnTemplate = createSpawnTemplate(playerCompanion);
+      playerCompanion.setSpawnTemplate(spawnTemplate);
+    }
+    return spawnTemplate;
+  }
 
-      // Remove negative effects
-      if (entityData.contains(FIRE_TAG) && entityData.getShort(FIRE_TAG) > 0) {
-        entityData.putShort(FIRE_TAG, (short) 0);
-      }
-      if (entityData.contains(FALL_DISTANCE_TAG) && entityData.getFloat(FALL_DISTANCE_TAG) > 0) {
-        entityData.putFloat(FALL_DISTANCE_TAG, 0);
-      }
-      if (entityData.contains(MOTION_TAG)) {
-        entityData.put(MOTION_TAG, newDoubleList(0, 0, 0));
-      }
-      if (entityData.contains(ON_GROUND_TAG) && !entityData.getBoolean(ON_GROUND_TAG)) {
-        entityData.putBoolean(ON_GROUND_TAG, true);
-      }
+  private static CompoundTag createSpawnTemplate(PlayerCompanionData playerCompanion) {
+    CompoundTag entityData = playerCompanion.getEntityData();
+    if (entityData == null || entityData.isEmpty()) {
+      return new CompoundTag();
+    }
+
+    // Work on a copy to keep the stored entity data untouched.
+    CompoundTag spawnTemplate = entityData.copy();
 
-      entity.load(entityData);
+    // Restore health, if needed
+    if (spawnTemplate.contains(HEALTH_TAG) && spawnTemplate.getFloat(HEALTH_TAG) <= 0) {
+      spawnTemplate.putFloat(HEALTH_TAG, playerCompanion.getEntityHealthMax());
     }
-    return entity;
+
+    // Remove negative effects
+    if (spawnTemplate.contains(FIRE_TAG) && spawnTemplate.getShort(FIRE_TAG) > 0) {
+      spawnTemplate.putShort(FIRE_TAG, (short) 0);
+    }
+    if (spawnTemplate.contains(FALL_DISTANCE_TAG)
+        && spawnTemplate.getFloat(FALL_DISTANCE_TAG) > 0) {
+      spawnTemplate.putFloat(FALL_DISTANCE_TAG, 0);
+    }
+    if (spawnTemplate.contains(MOTION_TAG)) {
+      spawnTemplate.put(MOTION_TAG, newDoubleList(0, 0, 0));
+    }
+    if (spawnTemplate.contains(ON_GROUND_TAG) && !spawnTemplate.getBoolean(ON_GROUND_TAG)) {
+      spawnTemplate.putBoolean(ON_GROUND_TAG, true);
+    }
+
+    return spawnTemplate;
   }
 
   public static boolean isValidSpawnPlace(BlockState blockState) {
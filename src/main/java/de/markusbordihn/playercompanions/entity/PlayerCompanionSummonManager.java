@@ -0,0 +1,199 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import de.markusbordihn.playercompanions.Constants;
+import de.markusbordihn.playercompanions.config.CommonConfig;
+import de.markusbordihn.playercompanions.data.PlayerCompanionData;
+import de.markusbordihn.playercompanions.data.PlayerCompanionsServerData;
+
+@EventBusSubscriber
+public class PlayerCompanionSummonManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final int PREPARED_DISTANCE = 16;
+
+  private static Queue<SummonRequest> summonQueue = new ConcurrentLinkedQueue<>();
+
+  protected PlayerCompanionSummonManager() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    summonQueue = new ConcurrentLinkedQueue<>();
+  }
+
+  @SubscribeEvent
+  public static void handleServerTickEvent(TickEvent.ServerTickEvent event) {
+    if (event.phase != TickEvent.Phase.END || summonQueue.isEmpty()) {
+      return;
+    }
+    MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+    if (server == null) {
+      return;
+    }
+
+    // Spawn only a few companions per tick and keep the others for the next ticks.
+    int numberOfSummons = 0;
+    int summonBatchSize = CommonConfig.getSnapshot().summonBatchSize;
+    Iterator<SummonRequest> iterator = summonQueue.iterator();
+    while (iterator.hasNext() && numberOfSummons < summonBatchSize) {
+      SummonRequest summonRequest = iterator.next();
+      ServerPlayer serverPlayer = server.getPlayerList().getPlayer(summonRequest.ownerUUID);
+      if (serverPlayer == null) {
+        iterator.remove();
+        continue;
+      }
+
+      // Re-prepare the spawn position, if the owner moved away in the meantime.
+      ServerLevel serverLevel = serverPlayer.getLevel();
+      if (summonRequest.serverLevel != serverLevel
+          || !summonRequest.blockPos.closerThan(serverPlayer.blockPosition(), PREPARED_DISTANCE)) {
+        summonRequest.prepare(serverPlayer);
+        continue;
+      }
+
+      iterator.remove();
+      numberOfSummons++;
+      BlockPos blockPos = getSpawnPosition(serverLevel, summonRequest.blockPos, serverPlayer);
+      if (!PlayerCompanionSpawnManager.spawn(summonRequest.companionUUID, serverPlayer,
+          serverLevel, blockPos)) {
+        log.warn("Unable to summon companion {} for {} at {}", summonRequest.companionUUID,
+            serverPlayer, blockPos);
+      }
+    }
+  }
+
+  public static int summonAll(ServerPlayer serverPlayer) {
+    PlayerCompanionsServerData serverData = PlayerCompanionsServerData.get();
+    Set<PlayerCompanionData> playerCompanions =
+        serverData != null ? serverData.getCompanions(serverPlayer.getUUID()) : null;
+    if (playerCompanions == null || playerCompanions.isEmpty()) {
+      return 0;
+    }
+
+    // Resolve all target companions over the registry, before any entity is touched.
+    List<PlayerCompanionData> targetCompanions = new ArrayList<>();
+    for (PlayerCompanionData playerCompanionData : playerCompanions) {
+      if (canSummon(playerCompanionData, serverPlayer)
+          && !isQueued(playerCompanionData.getUUID())) {
+        targetCompanions.add(playerCompanionData);
+      }
+    }
+
+    // Prepare the spawn positions in a circle around the owner.
+    for (int index = 0; index < targetCompanions.size(); index++) {
+      SummonRequest summonRequest = new SummonRequest(targetCompanions.get(index).getUUID(),
+          serverPlayer.getUUID(), index, targetCompanions.size());
+      summonRequest.prepare(serverPlayer);
+      summonQueue.add(summonRequest);
+    }
+    log.debug("Queued {} companions for summon by {}", targetCompanions.size(), serverPlayer);
+    return targetCompanions.size();
+  }
+
+  public static int getQueueSize() {
+    return summonQueue.size();
+  }
+
+  private static boolean canSummon(PlayerCompanionData playerCompanionData,
+      ServerPlayer serverPlayer) {
+    // Captured and hibernated companions are only stored as data and stay where they are.
+    if (playerCompanionData.isCaptured() || playerCompanionData.isHibernated()
+        || playerCompanionData.isSittingOnShoulder()
+        || (playerCompanionData.hasEntityRespawnTimer() && playerCompanionData
+            .getEntityRespawnTimer() > java.time.Instant.now().getEpochSecond())) {
+      return false;
+    }
+
+    // Companions which are already next to their owner don't need to be summoned.
+    Entity entity = serverPlayer.getLevel().getEntity(playerCompanionData.getUUID());
+    return entity == null || !entity.isAlive()
+        || !entity.closerThan(serverPlayer, PREPARED_DISTANCE);
+  }
+
+  private static boolean isQueued(UUID companionUUID) {
+    for (SummonRequest summonRequest : summonQueue) {
+      if (summonRequest.companionUUID.equals(companionUUID)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static BlockPos getSpawnPosition(ServerLevel serverLevel, BlockPos blockPos,
+      ServerPlayer serverPlayer) {
+    if (PlayerCompanionSpawnManager.isValidSpawnPlace(serverLevel.getBlockState(blockPos))
+        || PlayerCompanionSpawnManager
+            .isValidSpawnPlace(serverLevel.getBlockState(blockPos.above()))) {
+      return blockPos;
+    }
+    return serverPlayer.getOnPos().above();
+  }
+
+  private static class SummonRequest {
+    private final UUID companionUUID;
+    private final UUID ownerUUID;
+    private final int index;
+    private final int size;
+    private ServerLevel serverLevel;
+    private BlockPos blockPos;
+
+    SummonRequest(UUID companionUUID, UUID ownerUUID, int index, int size) {
+      this.companionUUID = companionUUID;
+      this.ownerUUID = ownerUUID;
+      this.index = index;
+      this.size = size;
+    }
+
+    void prepare(ServerPlayer serverPlayer) {
+      float angle = ((float) Math.PI * 2F * this.index) / Math.max(1, this.size);
+      int radius = 2 + this.index / 8;
+      this.serverLevel = serverPlayer.getLevel();
+      this.blockPos = serverPlayer.getOnPos().above().offset(Mth.floor(Mth.cos(angle) * radius),
+          0, Mth.floor(Mth.sin(angle) * radius));
+    }
+  }
+
+}
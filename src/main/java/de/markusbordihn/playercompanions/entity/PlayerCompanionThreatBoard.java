@@ -0,0 +1,162 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.monster.Creeper;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+@EventBusSubscriber
+public class PlayerCompanionThreatBoard {
+
+  // Threats are shared between all companions of the same owner and refreshed at a fixed cadence.
+  private static final int REFRESH_TICK = 10;
+  private static final int CLEANUP_TICK = 1200;
+  private static final double BOARD_RADIUS = 24.0D;
+  private static final double BOARD_HEIGHT = 8.0D;
+
+  private static Map<Level, LevelThreatCache> levelThreatCacheMap = new ConcurrentHashMap<>();
+
+  protected PlayerCompanionThreatBoard() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    levelThreatCacheMap = new ConcurrentHashMap<>();
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      levelThreatCacheMap.remove(level);
+    }
+  }
+
+  public static List<Creeper> getCreepers(PlayerCompanionEntity playerCompanionEntity,
+      double radius) {
+    AABB searchArea = playerCompanionEntity.getBoundingBox().inflate(radius, 3.0D, radius);
+    ThreatBoard threatBoard = getThreatBoard(playerCompanionEntity);
+    if (threatBoard == null || !threatBoard.covers(searchArea)) {
+      return playerCompanionEntity.level.getEntitiesOfClass(Creeper.class, searchArea,
+          creeper -> true);
+    }
+    return filter(threatBoard.creepers, searchArea);
+  }
+
+  public static int getSize() {
+    int size = 0;
+    for (LevelThreatCache levelThreatCache : levelThreatCacheMap.values()) {
+      size += levelThreatCache.threatBoards.size();
+    }
+    return size;
+  }
+
+  private static <T extends LivingEntity> List<T> filter(List<T> entities, AABB searchArea) {
+    if (entities.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<T> result = new ArrayList<>();
+    for (T entity : entities) {
+      if (entity.isAlive() && entity.getBoundingBox().intersects(searchArea)) {
+        result.add(entity);
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  private static ThreatBoard getThreatBoard(PlayerCompanionEntity playerCompanionEntity) {
+    UUID ownerUUID = playerCompanionEntity.getOwnerUUID();
+    Level level = playerCompanionEntity.level;
+    if (ownerUUID == null || level.isClientSide) {
+      return null;
+    }
+    Player owner = PlayerCompanionOwnerProximity.getOwner(level, ownerUUID);
+    if (owner == null) {
+      return null;
+    }
+
+    LevelThreatCache levelThreatCache =
+        levelThreatCacheMap.computeIfAbsent(level, key -> new LevelThreatCache());
+    long gameTime = level.getGameTime();
+    if (gameTime - levelThreatCache.lastCleanup >= CLEANUP_TICK) {
+      levelThreatCache.cleanup(gameTime);
+    }
+
+    ThreatBoard threatBoard =
+        levelThreatCache.threatBoards.computeIfAbsent(ownerUUID, key -> new ThreatBoard());
+    if (gameTime - threatBoard.refreshTime >= REFRESH_TICK) {
+      threatBoard.refresh(level, owner, gameTime);
+    }
+    return threatBoard;
+  }
+
+  private static class ThreatBoard {
+    private List<Creeper> creepers = Collections.emptyList();
+    private AABB area;
+    private long refreshTime = Long.MIN_VALUE / 2;
+
+    private void refresh(Level level, Player owner, long gameTime) {
+      this.area = owner.getBoundingBox().inflate(BOARD_RADIUS, BOARD_HEIGHT, BOARD_RADIUS);
+      this.creepers = level.getEntitiesOfClass(Creeper.class, this.area, Creeper::isAlive);
+      this.refreshTime = gameTime;
+    }
+
+    private boolean covers(AABB searchArea) {
+      return this.area != null && this.area.minX <= searchArea.minX
+          && this.area.minY <= searchArea.minY && this.area.minZ <= searchArea.minZ
+          && this.area.maxX >= searchArea.maxX && this.area.maxY >= searchArea.maxY
+          && this.area.maxZ >= searchArea.maxZ;
+    }
+  }
+
+  private static class LevelThreatCache {
+    private final Map<UUID, ThreatBoard> threatBoards = new HashMap<>();
+    private long lastCleanup = 0;
+
+    private void cleanup(long gameTime) {
+      Iterator<ThreatBoard> iterator = this.threatBoards.values().iterator();
+      while (iterator.hasNext()) {
+        if (gameTime - iterator.next().refreshTime >= CLEANUP_TICK) {
+          iterator.remove();
+        }
+      }
+      this.lastCleanup = gameTime;
+    }
+  }
+
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.Mth;
+
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import de.markusbordihn.playercompanions.Constants;
+import de.markusbordihn.playercompanions.config.CommonConfig;
+
+@EventBusSubscriber
+public class PlayerCompanionTickBudget {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final CommonConfig.Config COMMON = CommonConfig.COMMON;
+
+  private static final short UPDATE_TICK = 20;
+  private static final int REPORT_TICK = 20 * 60;
+
+  private static final long[] deferredTotal = new long[TickPriority.values().length];
+  private static final long[] deferredSinceReport = new long[TickPriority.values().length];
+
+  private static boolean overloaded = false;
+  private static float averageTickTime = 0;
+  private static int loadFactor = 1;
+  private static int serverTicks = 0;
+  private static short updateTicks = 0;
+  private static int reportTicks = 0;
+
+  protected PlayerCompanionTickBudget() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    overloaded = false;
+    averageTickTime = 0;
+    loadFactor = 1;
+    serverTicks = 0;
+    updateTicks = 0;
+    reportTicks = 0;
+    for (TickPriority tickPriority : TickPriority.values()) {
+      deferredTotal[tickPriority.ordinal()] = 0;
+      deferredSinceReport[tickPriority.ordinal()] = 0;
+    }
+
+    if (Boolean.TRUE.equals(COMMON.tickBudgetEnabled.get())) {
+      log.info("{} Companion tick budget will defer non-critical work above {} ms per tick.",
+          Constants.LOG_ICON, COMMON.tickBudgetMaxTickTime.get());
+    } else {
+      log.info("{} Companion tick budget is disabled!", Constants.LOG_ICON);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleServerTickEvent(TickEvent.ServerTickEvent event) {
+    if (event.phase != TickEvent.Phase.END) {
+      return;
+    }
+    serverTicks++;
+
+    if (updateTicks++ >= UPDATE_TICK) {
+      updateBudget();
+      updateTicks = 0;
+    }
+
+    if (reportTicks++ >= REPORT_TICK) {
+      reportDeferredWork();
+      reportTicks = 0;
+    }
+  }
+
+  public static boolean canRun(TickPriority tickPriority, PlayerCompanionEntityData entity) {
+    // Client side work is never deferred.
+    if (entity.level.isClientSide) {
+      return true;
+    }
+
+    // Work on a healthy server is never deferred, the lower the priority the wider the spread.
+    boolean[] deferredTicks = entity.getTickBudgetDeferred();
+    if (!overloaded || Math.floorMod(serverTicks + entity.getId(),
+        tickPriority.getStride() * loadFactor) == 0) {
+      deferredTicks[tickPriority.ordinal()] = false;
+      return true;
+    }
+
+    // Callers are asking each tick until they are allowed to run, so only count the first
+    // deferral until the next run, even if the load factor changes in between.
+    if (!deferredTicks[tickPriority.ordinal()]) {
+      deferredTicks[tickPriority.ordinal()] = true;
+      deferredTotal[tickPriority.ordinal()]++;
+      deferredSinceReport[tickPriority.ordinal()]++;
+    }
+    return false;
+  }
+
+  public static boolean isOverloaded() {
+    return overloaded;
+  }
+
+  public static float getAverageTickTime() {
+    return averageTickTime;
+  }
+
+  public static int getLoadFactor() {
+    return loadFactor;
+  }
+
+  public static long getDeferredCount(TickPriority tickPriority) {
+    return deferredTotal[tickPriority.ordinal()];
+  }
+
+  public static long getDeferredCount() {
+    long deferredCount = 0;
+    for (long deferred : deferredTotal) {
+      deferredCount += deferred;
+    }
+    return deferredCount;
+  }
+
+  private static void updateBudget() {
+    MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+    if (server == null) {
+      return;
+    }
+    averageTickTime = server.getAverageTickTime();
+
+    int maxTickTime = CommonConfig.getSnapshot().tickBudgetMaxTickTime;
+    boolean wasOverloaded = overloaded;
+    overloaded =
+        CommonConfig.getSnapshot().tickBudgetEnabled && averageTickTime > maxTickTime;
+    loadFactor = overloaded ? Math.max(2, Mth.ceil(averageTickTime / maxTickTime)) : 1;
+
+    if (overloaded && !wasOverloaded) {
+      log.warn("{} Server is running behind with {} ms per tick, deferring companion work ...",
+          Constants.LOG_ICON, String.format("%.1f", averageTickTime));
+    } else if (!overloaded && wasOverloaded) {
+      log.info("{} Server is back to {} ms per tick, companion work is no longer deferred.",
+          Constants.LOG_ICON, String.format("%.1f", averageTickTime));
+      reportDeferredWork();
+    }
+  }
+
+  private static void reportDeferredWork() {
+    long deferredCount = 0;
+    for (long deferred : deferredSinceReport) {
+      deferredCount += deferred;
+    }
+    if (deferredCount == 0) {
+      return;
+    }
+    log.info("{} Deferred {} companion tasks (feature: {}, experience: {}, cosmetic: {})",
+        Constants.LOG_ICON, deferredCount, deferredSinceReport[TickPriority.FEATURE.ordinal()],
+        deferredSinceReport[TickPriority.EXPERIENCE.ordinal()],
+        deferredSinceReport[TickPriority.COSMETIC.ordinal()]);
+    for (TickPriority tickPriority : TickPriority.values()) {
+      deferredSinceReport[tickPriority.ordinal()] = 0;
+    }
+  }
+
+}
@@ -0,0 +1,230 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import de.markusbordihn.playercompanions.Constants;
+import de.markusbordihn.playercompanions.config.CommonConfig;
+import de.markusbordihn.playercompanions.data.PlayerCompanionData;
+import de.markusbordihn.playercompanions.data.PlayerCompanionsServerData;
+
+@EventBusSubscriber
+public class PlayerCompanionVirtualFollowManager {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final CommonConfig.Config COMMON = CommonConfig.COMMON;
+
+  private static final short VIRTUAL_FOLLOW_TICK = 20;
+  private static final int SETTLE_DISTANCE = 8;
+
+  private static Map<UUID, OwnerAnchor> ownerAnchorMap = new ConcurrentHashMap<>();
+  private static Set<PlayerCompanionEntity> discardQueue = ConcurrentHashMap.newKeySet();
+  private static short ticks = 0;
+
+  protected PlayerCompanionVirtualFollowManager() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    ownerAnchorMap = new ConcurrentHashMap<>();
+    discardQueue = ConcurrentHashMap.newKeySet();
+    ticks = 0;
+
+    if (Boolean.TRUE.equals(COMMON.virtualFollowEnabled.get())) {
+      log.info("{} Following companions more than {} blocks behind will follow virtually.",
+          Constants.LOG_ICON, COMMON.virtualFollowDistance.get());
+    } else {
+      log.info("{} Virtual follow is disabled!", Constants.LOG_ICON);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerLoggedOutEvent(PlayerEvent.PlayerLoggedOutEvent event) {
+    ownerAnchorMap.remove(event.getEntity().getUUID());
+  }
+
+  @SubscribeEvent
+  public static void handleEntityJoinLevelEvent(EntityJoinLevelEvent event) {
+    // Left behind companions could re-appear, if their chunk is loaded again after a re-spawn.
+    if (!event.getLevel().isClientSide()
+        && event.getEntity() instanceof PlayerCompanionEntity playerCompanionEntity
+        && playerCompanionEntity.hasOwner()) {
+      PlayerCompanionsServerData serverData = PlayerCompanionsServerData.get();
+      PlayerCompanionData playerCompanionData =
+          serverData != null ? serverData.getCompanion(playerCompanionEntity.getUUID()) : null;
+      if (playerCompanionData != null && PlayerCompanionSpawnManager
+          .isStaleCompanionEntity(playerCompanionEntity, playerCompanionData)) {
+        discardQueue.add(playerCompanionEntity);
+      }
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleServerTickEvent(TickEvent.ServerTickEvent event) {
+    if (event.phase != TickEvent.Phase.END || ticks++ < VIRTUAL_FOLLOW_TICK) {
+      return;
+    }
+    ticks = 0;
+
+    if (!discardQueue.isEmpty()) {
+      Iterator<PlayerCompanionEntity> iterator = discardQueue.iterator();
+      while (iterator.hasNext()) {
+        PlayerCompanionEntity playerCompanionEntity = iterator.next();
+        if (!playerCompanionEntity.isRemoved()) {
+          log.debug("Discard left behind companion {} ...", playerCompanionEntity);
+          playerCompanionEntity.discard();
+        }
+        iterator.remove();
+      }
+    }
+
+    MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+    PlayerCompanionsServerData serverData = PlayerCompanionsServerData.get();
+    if (server == null || serverData == null) {
+      return;
+    }
+    long now = java.time.Instant.now().getEpochSecond();
+    for (ServerPlayer serverPlayer : server.getPlayerList().getPlayers()) {
+      Set<PlayerCompanionData> playerCompanions = serverData.getCompanions(serverPlayer.getUUID());
+      if (playerCompanions != null && !playerCompanions.isEmpty()) {
+        updateCompanions(server, serverPlayer, playerCompanions, now);
+      }
+    }
+  }
+
+  private static void updateCompanions(MinecraftServer server, ServerPlayer serverPlayer,
+      Set<PlayerCompanionData> playerCompanions, long now) {
+    boolean ownerHasSettled = updateOwnerAnchor(serverPlayer, now);
+    boolean virtualFollowEnabled = CommonConfig.getSnapshot().virtualFollowEnabled;
+    int virtualFollowDistance = CommonConfig.getSnapshot().virtualFollowDistance;
+
+    for (PlayerCompanionData playerCompanionData : playerCompanions) {
+      if (playerCompanionData.isVirtualFollow()) {
+        if (playerCompanionData.isCaptured() || PlayerCompanionSpawnManager
+            .getCompanionEntity(server, playerCompanionData) != null) {
+          // Captured or loaded again companions are no longer following virtually.
+          playerCompanionData.setVirtualFollow(false);
+        } else if (ownerHasSettled
+            && PlayerCompanionSpawnManager.spawn(playerCompanionData.getUUID(), serverPlayer)) {
+          // Re-spawn virtual companions next to the owner, as soon as the owner has settled.
+          log.debug("Re-spawn virtual companion {} next to {}", playerCompanionData,
+              serverPlayer);
+        }
+      } else if (virtualFollowEnabled && isFollowing(playerCompanionData)) {
+        leaveBehind(server, serverPlayer, playerCompanionData, virtualFollowDistance);
+      }
+    }
+  }
+
+  private static void leaveBehind(MinecraftServer server, ServerPlayer serverPlayer,
+      PlayerCompanionData playerCompanionData, int virtualFollowDistance) {
+    Entity entity = PlayerCompanionSpawnManager.getCompanionEntity(server, playerCompanionData);
+    if (entity instanceof PlayerCompanionEntity playerCompanionEntity) {
+      // Loaded companions are only left behind, if they are really following their owner.
+      if (playerCompanionEntity.isAlive()
+          && isFollowing(playerCompanionEntity.getActionType())
+          && !playerCompanionEntity.isOrderedToSit() && !playerCompanionEntity.isOrderedToPosition()
+          && !playerCompanionEntity.isPassenger() && !playerCompanionEntity.isLeashed()
+          && isBeyondDistance(playerCompanionEntity.getLevel().dimension(),
+              playerCompanionEntity.blockPosition(), serverPlayer, virtualFollowDistance)
+          && PlayerCompanionSpawnManager.despawn(playerCompanionEntity)) {
+        log.debug("Companion {} is following {} virtually ...", playerCompanionData,
+            serverPlayer);
+        playerCompanionData.setVirtualFollow(true);
+      }
+    } else if (entity == null && isBeyondDistance(playerCompanionData.getLevelKey(),
+        playerCompanionData.getBlockPos(), serverPlayer, virtualFollowDistance)) {
+      // Companions stuck in unloaded chunks are left as they are and discarded once loaded.
+      log.debug("Companion {} was left behind in an unloaded chunk and is following {} virtually",
+          playerCompanionData, serverPlayer);
+      playerCompanionData.setVirtualFollow(true);
+    }
+  }
+
+  private static boolean isFollowing(PlayerCompanionData playerCompanionData) {
+    return !playerCompanionData.isHibernated() && !playerCompanionData.isCaptured()
+        && !playerCompanionData.isSittingOnShoulder()
+        && !playerCompanionData.isOrderedToSit() && !playerCompanionData.isOrderedToPosition()
+        && !playerCompanionData.hasEntityRespawnTimer()
+        && isFollowing(playerCompanionData.getEntityActionType());
+  }
+
+  private static boolean isFollowing(ActionType actionType) {
+    // The action type is not persisted, so unknown is the default for following companions.
+    return actionType == ActionType.FOLLOW || actionType == ActionType.UNKNOWN;
+  }
+
+  private static boolean isBeyondDistance(ResourceKey<Level> levelKey, BlockPos blockPos,
+      ServerPlayer serverPlayer, int distance) {
+    if (levelKey == null || blockPos == null) {
+      return false;
+    }
+    return levelKey != serverPlayer.getLevel().dimension()
+        || blockPos.distSqr(serverPlayer.blockPosition()) > (double) distance * distance;
+  }
+
+  private static boolean updateOwnerAnchor(ServerPlayer serverPlayer, long now) {
+    ResourceKey<Level> levelKey = serverPlayer.getLevel().dimension();
+    BlockPos blockPos = serverPlayer.blockPosition();
+    OwnerAnchor ownerAnchor = ownerAnchorMap.get(serverPlayer.getUUID());
+    if (ownerAnchor == null || ownerAnchor.levelKey != levelKey
+        || !ownerAnchor.blockPos.closerThan(blockPos, SETTLE_DISTANCE)) {
+      ownerAnchorMap.put(serverPlayer.getUUID(), new OwnerAnchor(levelKey, blockPos, now));
+      return false;
+    }
+    return now - ownerAnchor.since >= CommonConfig.getSnapshot().virtualFollowSettleTime;
+  }
+
+  private static class OwnerAnchor {
+    private final ResourceKey<Level> levelKey;
+    private final BlockPos blockPos;
+    private final long since;
+
+    OwnerAnchor(ResourceKey<Level> levelKey, BlockPos blockPos, long since) {
+      this.levelKey = levelKey;
+      this.blockPos = blockPos;
+      this.since = since;
+    }
+  }
+
+}
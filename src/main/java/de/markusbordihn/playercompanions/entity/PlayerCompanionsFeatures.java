@@ -19,26 +19,23 @@
 
 package de.markusbordihn.playercompanions.entity;
 
-import java.util.List;
 import java.util.Random;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import net.minecraft.util.Mth;
-import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.NeutralMob;
-import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 
 import de.markusbordihn.playercompanions.Constants;
 
 public class PlayerCompanionsFeatures {
 
-  protected final Random random = new Random();
+  // Shared random source for all companion features.
+  protected static final Random random = new Random();
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
@@ -75,7 +72,7 @@ public class PlayerCompanionsFeatures {
     }
 
     // Distribute Ticks along several entities
-    this.ticker = (short) this.random.nextInt(0, 25);
+    this.ticker = (short) random.nextInt(0, 25);
 
     // Experience ticker
     this.experienceDistributeTicker = 0;
@@ -101,6 +98,10 @@ public class PlayerCompanionsFeatures {
     return playerCompanionEntity.getOwner();
   }
 
+  public PlayerCompanionEntity getPlayerCompanionEntity() {
+    return this.playerCompanionEntity;
+  }
+
   public float getOFlap() {
     return this.oFlap;
   }
@@ -117,6 +118,10 @@ public class PlayerCompanionsFeatures {
     return this.flapSpeed;
   }
 
+  protected boolean canRunTick(TickPriority tickPriority) {
+    return PlayerCompanionTickBudget.canRun(tickPriority, this.playerCompanionEntity);
+  }
+
   protected void aiStep() {
     // Placeholder function
   }
@@ -145,20 +150,16 @@ public class PlayerCompanionsFeatures {
 
       // Check if owner is near (8 blocks) to give additional bonus experience over time.
       if (this.experienceOwnerBonusTicker++ >= EXPERIENCE_OWNER_BONUS_TICKER
-          && this.distributedExperience == 0) {
-        List<Player> playerEntities = this.level.getEntities(EntityType.PLAYER,
-            new AABB(playerCompanionEntity.blockPosition()).inflate(8), entity -> true);
-        for (Player player : playerEntities) {
-          if (player == this.getOwner()) {
-            distributeExperience(1);
-            break;
-          }
+          && this.distributedExperience == 0 && canRunTick(TickPriority.EXPERIENCE)) {
+        if (PlayerCompanionOwnerProximity.isOwnerNear(this.playerCompanionEntity, 8)) {
+          distributeExperience(1);
         }
         this.experienceOwnerBonusTicker = 0;
       }
 
       // Distribute and cap experience for network friendly updates.
-      if (this.experienceDistributeTicker++ >= EXPERIENCE_TICKER) {
+      if (this.experienceDistributeTicker++ >= EXPERIENCE_TICKER
+          && canRunTick(TickPriority.EXPERIENCE)) {
         increaseExperience(this.distributedExperience);
         this.distributedExperience = 0;
         this.experienceDistributeTicker = 0;
@@ -34,6 +34,7 @@ import net.minecraft.world.level.pathfinder.Path;
 import net.minecraft.world.phys.Vec3;
 
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionThreatBoard;
 
 public class AvoidCreeperGoal extends PlayerCompanionGoal {
 
@@ -73,10 +74,7 @@ public class AvoidCreeperGoal extends PlayerCompanionGoal {
     }
     this.creeperToAvoid =
         this.playerCompanionEntity.level.getNearestEntity(
-            this.playerCompanionEntity.level.getEntitiesOfClass(Creeper.class,
-                this.playerCompanionEntity.getBoundingBox().inflate(this.maxDist, 3.0D,
-                    this.maxDist),
-                creeper -> true),
+            PlayerCompanionThreatBoard.getCreepers(this.playerCompanionEntity, this.maxDist),
             this.avoidEntityTargeting, this.playerCompanionEntity,
             this.playerCompanionEntity.getX(), this.playerCompanionEntity.getY(),
             this.playerCompanionEntity.getZ());
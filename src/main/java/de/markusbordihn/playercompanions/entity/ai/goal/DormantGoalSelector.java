@@ -0,0 +1,88 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.ai.goal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.world.entity.ai.goal.FloatGoal;
+import net.minecraft.world.entity.ai.goal.GoalSelector;
+import net.minecraft.world.entity.ai.goal.SitWhenOrderedToGoal;
+import net.minecraft.world.entity.ai.goal.WrappedGoal;
+
+/**
+ * Keeps only a minimal set of goals active for sleeping companions, so that the remaining goals
+ * are not evaluated each tick. The full set of goals is restored, when the companion is woken up.
+ */
+public class DormantGoalSelector {
+
+  private final GoalSelector goalSelector;
+  private final GoalSelector targetSelector;
+  private final List<WrappedGoal> dormantGoals = new ArrayList<>();
+  private final List<WrappedGoal> dormantTargetGoals = new ArrayList<>();
+  private boolean dormant = false;
+
+  public DormantGoalSelector(GoalSelector goalSelector, GoalSelector targetSelector) {
+    this.goalSelector = goalSelector;
+    this.targetSelector = targetSelector;
+  }
+
+  public boolean isDormant() {
+    return this.dormant;
+  }
+
+  public void sleep() {
+    if (this.dormant) {
+      return;
+    }
+    for (WrappedGoal wrappedGoal : new ArrayList<>(this.goalSelector.getAvailableGoals())) {
+      if (!isMinimalGoal(wrappedGoal)) {
+        this.dormantGoals.add(wrappedGoal);
+        this.goalSelector.removeGoal(wrappedGoal.getGoal());
+      }
+    }
+    for (WrappedGoal wrappedGoal : new ArrayList<>(this.targetSelector.getAvailableGoals())) {
+      this.dormantTargetGoals.add(wrappedGoal);
+      this.targetSelector.removeGoal(wrappedGoal.getGoal());
+    }
+    this.dormant = true;
+  }
+
+  public void wake() {
+    if (!this.dormant) {
+      return;
+    }
+    for (WrappedGoal wrappedGoal : this.dormantGoals) {
+      this.goalSelector.addGoal(wrappedGoal.getPriority(), wrappedGoal.getGoal());
+    }
+    for (WrappedGoal wrappedGoal : this.dormantTargetGoals) {
+      this.targetSelector.addGoal(wrappedGoal.getPriority(), wrappedGoal.getGoal());
+    }
+    this.dormantGoals.clear();
+    this.dormantTargetGoals.clear();
+    this.dormant = false;
+  }
+
+  private static boolean isMinimalGoal(WrappedGoal wrappedGoal) {
+    return wrappedGoal.getGoal() instanceof SitWhenOrderedToGoal
+        || wrappedGoal.getGoal() instanceof FloatGoal;
+  }
+
+}
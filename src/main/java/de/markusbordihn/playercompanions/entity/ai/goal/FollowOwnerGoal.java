@@ -0,0 +1,194 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.ai.goal;
+
+import java.util.EnumSet;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.ai.goal.Goal;
+import net.minecraft.world.level.block.LeavesBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.pathfinder.BlockPathTypes;
+import net.minecraft.world.level.pathfinder.Path;
+import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
+import net.minecraft.world.phys.Vec3;
+
+import de.markusbordihn.playercompanions.config.CommonConfig;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+import de.markusbordihn.playercompanions.entity.ai.navigation.AsyncPathRequest;
+import de.markusbordihn.playercompanions.entity.ai.navigation.PlayerCompanionGroupNavigation;
+
+public class FollowOwnerGoal extends PlayerCompanionGoal {
+
+  public static final int TELEPORT_WHEN_DISTANCE_IS = 12;
+  private static final int BLOCKED_RECALCULATIONS = 3;
+  private static final double BLOCKED_DISTANCE_SQR = 0.25D;
+
+  private final double speedModifier;
+  private final float stopDistance;
+  private final float startDistance;
+  private final boolean canFly;
+  private final AsyncPathRequest pathRequest = new AsyncPathRequest();
+  private LivingEntity owner;
+  private int timeToRecalcPath;
+  private float oldWaterCost;
+  private boolean followsGroupPath;
+  private int individualRecalculations;
+  private Vec3 lastRecalcPosition;
+
+  public FollowOwnerGoal(PlayerCompanionEntity playerCompanionEntity, double speedModifier,
+      float startDistance, float stopDistance, boolean canFly) {
+    super(playerCompanionEntity);
+    this.speedModifier = speedModifier;
+    this.startDistance = startDistance;
+    this.stopDistance = stopDistance;
+    this.canFly = canFly;
+    this.setFlags(EnumSet.of(Goal.Flag.MOVE, Goal.Flag.LOOK));
+  }
+
+  @Override
+  public boolean canUse() {
+    LivingEntity livingEntity = this.playerCompanionEntity.getOwner();
+    if (livingEntity == null || livingEntity.isSpectator()
+        || this.playerCompanionEntity.isOrderedToSit() || this.playerCompanionEntity
+            .distanceToSqr(livingEntity) < this.startDistance * this.startDistance) {
+      return false;
+    }
+    this.owner = livingEntity;
+    return true;
+  }
+
+  @Override
+  public boolean canContinueToUse() {
+    return (!this.navigation.isDone() || this.pathRequest.isPending())
+        && !this.playerCompanionEntity.isOrderedToSit()
+        && this.playerCompanionEntity.distanceToSqr(this.owner) > this.stopDistance
+            * this.stopDistance;
+  }
+
+  @Override
+  public void start() {
+    // The blocked group path state is kept, because the goal could be restarted several times
+    // before the member is getting closer to its owner.
+    this.timeToRecalcPath = 0;
+    this.oldWaterCost = this.playerCompanionEntity.getPathfindingMalus(BlockPathTypes.WATER);
+    this.playerCompanionEntity.setPathfindingMalus(BlockPathTypes.WATER, 0.0F);
+  }
+
+  @Override
+  public void stop() {
+    this.owner = null;
+    this.pathRequest.cancel();
+    this.navigation.stop();
+    this.playerCompanionEntity.setPathfindingMalus(BlockPathTypes.WATER, this.oldWaterCost);
+  }
+
+  @Override
+  public void tick() {
+    this.playerCompanionEntity.getLookControl().setLookAt(this.owner, 10.0F,
+        this.playerCompanionEntity.getMaxHeadXRot());
+    Path asyncPath = this.pathRequest.poll();
+    if (asyncPath != null) {
+      this.navigation.moveTo(asyncPath, this.speedModifier);
+    }
+    if (--this.timeToRecalcPath <= 0) {
+      this.timeToRecalcPath = this.adjustedTickDelay(10);
+      if (!this.playerCompanionEntity.isLeashed() && !this.playerCompanionEntity.isPassenger()) {
+        if (this.playerCompanionEntity.distanceToSqr(this.owner) >= TELEPORT_WHEN_DISTANCE_IS
+            * TELEPORT_WHEN_DISTANCE_IS) {
+          this.teleportToOwner();
+        } else {
+          this.moveToOwner();
+        }
+      }
+    }
+  }
+
+  private void moveToOwner() {
+    // Recalculate the path individually for a while, if the group path is blocked.
+    Vec3 position = this.playerCompanionEntity.position();
+    if (this.followsGroupPath && this.lastRecalcPosition != null
+        && position.distanceToSqr(this.lastRecalcPosition) < BLOCKED_DISTANCE_SQR) {
+      this.individualRecalculations = BLOCKED_RECALCULATIONS;
+    }
+    this.lastRecalcPosition = position;
+
+    if (this.individualRecalculations > 0) {
+      this.individualRecalculations--;
+    } else if (CommonConfig.getSnapshot().groupFollowEnabled) {
+      Path groupPath = PlayerCompanionGroupNavigation.getGroupPath(this.playerCompanionEntity,
+          this.owner, this.startDistance);
+      this.followsGroupPath =
+          groupPath != null && this.navigation.moveTo(groupPath, this.speedModifier);
+      if (this.followsGroupPath) {
+        return;
+      }
+    }
+    this.followsGroupPath = false;
+    if (!this.pathRequest.submit(this.playerCompanionEntity, this.owner, 0)) {
+      this.navigation.moveTo(this.owner, this.speedModifier);
+    }
+  }
+
+  private void teleportToOwner() {
+    BlockPos blockPos = this.owner.blockPosition();
+    for (int i = 0; i < 10; ++i) {
+      int x = this.randomIntInclusive(-3, 3);
+      int y = this.randomIntInclusive(-1, 1);
+      int z = this.randomIntInclusive(-3, 3);
+      if (this.maybeTeleportTo(blockPos.getX() + x, blockPos.getY() + y, blockPos.getZ() + z)) {
+        return;
+      }
+    }
+  }
+
+  private boolean maybeTeleportTo(int x, int y, int z) {
+    if (Math.abs(x - this.owner.getX()) < 2.0D && Math.abs(z - this.owner.getZ()) < 2.0D) {
+      return false;
+    } else if (!this.canTeleportTo(new BlockPos(x, y, z))) {
+      return false;
+    } else {
+      this.playerCompanionEntity.moveTo(x + 0.5D, y, z + 0.5D,
+          this.playerCompanionEntity.getYRot(), this.playerCompanionEntity.getXRot());
+      this.navigation.stop();
+      return true;
+    }
+  }
+
+  private boolean canTeleportTo(BlockPos blockPos) {
+    BlockPathTypes blockPathTypes =
+        WalkNodeEvaluator.getBlockPathTypeStatic(this.level, blockPos.mutable());
+    if (blockPathTypes != BlockPathTypes.WALKABLE) {
+      return false;
+    }
+    BlockState blockState = this.level.getBlockState(blockPos.below());
+    if (!this.canFly && blockState.getBlock() instanceof LeavesBlock) {
+      return false;
+    }
+    BlockPos relativePos = blockPos.subtract(this.playerCompanionEntity.blockPosition());
+    return this.level.noCollision(this.playerCompanionEntity,
+        this.playerCompanionEntity.getBoundingBox().move(relativePos));
+  }
+
+  private int randomIntInclusive(int min, int max) {
+    return this.playerCompanionEntity.getRandom().nextInt(max - min + 1) + min;
+  }
+}
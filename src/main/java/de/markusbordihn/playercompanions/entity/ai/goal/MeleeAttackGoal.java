@@ -28,6 +28,7 @@ import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.level.pathfinder.Path;
 
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+import de.markusbordihn.playercompanions.entity.ai.navigation.PlayerCompanionPathCache;
 
 public class MeleeAttackGoal extends PlayerCompanionGoal {
   private final double speedModifier;
@@ -65,7 +66,8 @@ public class MeleeAttackGoal extends PlayerCompanionGoal {
         LivingEntity livingEntity = this.playerCompanionEntity.getTarget();
         if (canPenalize) {
           if (--this.ticksUntilNextPathRecalculation <= 0) {
-            this.path = this.playerCompanionEntity.getNavigation().createPath(livingEntity, 0);
+            this.path =
+                PlayerCompanionPathCache.createPath(this.playerCompanionEntity, livingEntity);
             this.ticksUntilNextPathRecalculation =
                 4 + this.playerCompanionEntity.getRandom().nextInt(7);
             return this.path != null;
@@ -73,7 +75,7 @@ public class MeleeAttackGoal extends PlayerCompanionGoal {
             return true;
           }
         }
-        this.path = this.playerCompanionEntity.getNavigation().createPath(livingEntity, 0);
+        this.path = PlayerCompanionPathCache.createPath(this.playerCompanionEntity, livingEntity);
         if (this.path != null) {
           return true;
         } else if (livingEntity != null) {
@@ -162,9 +164,18 @@ public class MeleeAttackGoal extends PlayerCompanionGoal {
           this.ticksUntilNextPathRecalculation += 5;
         }
 
-        if (!this.playerCompanionEntity.getNavigation().moveTo(livingEntity, this.speedModifier)) {
+        // Paths to the same target are shared with nearby companions, including their failures.
+        Path sharedPath = PlayerCompanionPathCache.createPath(this.playerCompanionEntity,
+            livingEntity);
+        if (sharedPath == null) {
+          this.ticksUntilNextPathRecalculation += 15;
+        } else if (!this.playerCompanionEntity.getNavigation().moveTo(sharedPath,
+            this.speedModifier)) {
+          PlayerCompanionPathCache.reportFailure(this.playerCompanionEntity, livingEntity);
           this.ticksUntilNextPathRecalculation += 15;
         }
+        this.ticksUntilNextPathRecalculation +=
+            PlayerCompanionPathCache.getFailurePenalty(this.playerCompanionEntity, livingEntity);
 
         this.ticksUntilNextPathRecalculation =
             this.adjustedTickDelay(this.ticksUntilNextPathRecalculation);
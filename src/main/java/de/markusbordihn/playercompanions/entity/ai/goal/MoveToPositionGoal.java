@@ -24,13 +24,16 @@ import java.util.EnumSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.level.pathfinder.BlockPathTypes;
+import net.minecraft.world.level.pathfinder.Path;
 
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+import de.markusbordihn.playercompanions.entity.ai.navigation.AsyncPathRequest;
 
 public class MoveToPositionGoal extends PlayerCompanionGoal {
 
   private final double speedModifier;
   private final float stopDistance;
+  private final AsyncPathRequest pathRequest = new AsyncPathRequest();
 
   private int timeToRecalcPath;
   private float oldWaterCost;
@@ -61,7 +64,8 @@ public class MoveToPositionGoal extends PlayerCompanionGoal {
 
   @Override
   public boolean canContinueToUse() {
-    if (!this.playerCompanionEntity.hasOwnerAndIsAlive() || this.navigation.isDone()
+    if (!this.playerCompanionEntity.hasOwnerAndIsAlive()
+        || (this.navigation.isDone() && !this.pathRequest.isPending())
         || !this.playerCompanionEntity.isOrderedToPosition()) {
       return false;
     } else {
@@ -82,6 +86,7 @@ public class MoveToPositionGoal extends PlayerCompanionGoal {
   public void stop() {
     this.targetPosition = null;
     this.playerCompanionEntity.setOrderedToPosition(null);
+    this.pathRequest.cancel();
     this.navigation.stop();
     this.playerCompanionEntity.setPathfindingMalus(BlockPathTypes.WATER, this.oldWaterCost);
   }
@@ -92,9 +97,14 @@ public class MoveToPositionGoal extends PlayerCompanionGoal {
         this.targetPosition.getY(), this.targetPosition.getZ(), 10.0F,
         this.playerCompanionEntity.getMaxHeadXRot());
 
+    Path asyncPath = this.pathRequest.poll();
+    if (asyncPath != null) {
+      this.navigation.moveTo(asyncPath, this.speedModifier);
+    }
     if (--this.timeToRecalcPath <= 0) {
       this.timeToRecalcPath = this.adjustedTickDelay(10);
-      if (!this.playerCompanionEntity.isLeashed() && !this.playerCompanionEntity.isPassenger()) {
+      if (!this.playerCompanionEntity.isLeashed() && !this.playerCompanionEntity.isPassenger()
+          && !this.pathRequest.submit(this.playerCompanionEntity, this.targetPosition, 1)) {
         this.navigation.moveTo(this.targetPosition.getX(), this.targetPosition.getY(),
             this.targetPosition.getZ(), this.speedModifier);
       }
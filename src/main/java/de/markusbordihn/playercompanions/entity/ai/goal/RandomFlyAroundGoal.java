@@ -25,6 +25,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.ai.goal.Goal;
 
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+import de.markusbordihn.playercompanions.level.FreeAirSampleCache;
 
 public class RandomFlyAroundGoal extends PlayerCompanionGoal {
 
@@ -50,21 +51,18 @@ public class RandomFlyAroundGoal extends PlayerCompanionGoal {
 
   @Override
   public void tick() {
-    BlockPos blockPos = this.playerCompanionEntity.ownerBlockPosition();
-    for (int i = 0; i < 3; ++i) {
-      BlockPos randomBlockPos = blockPos.offset(this.random.nextInt(15) - 7,
-          this.random.nextInt(11) - 5, this.random.nextInt(15) - 7);
-      if (this.playerCompanionEntity.level.isEmptyBlock(randomBlockPos)) {
-        this.playerCompanionEntity.getMoveControl().setWantedPosition(randomBlockPos.getX() + 0.5D,
-            randomBlockPos.getY() + 0.5D, randomBlockPos.getZ() + 0.5D, 0.25D);
-        if (this.playerCompanionEntity.getTarget() == null) {
-          this.playerCompanionEntity.getLookControl().setLookAt(randomBlockPos.getX() + 0.5D,
-              randomBlockPos.getY() + 0.5D, randomBlockPos.getZ() + 0.5D, 180.0F, 20.0F);
-        }
-        break;
+    // Wander targets are shared with all flying companions of the same owner.
+    BlockPos randomBlockPos = FreeAirSampleCache.getRandomAirPosition(this.level,
+        this.playerCompanionEntity.getOwnerUUID(), this.playerCompanionEntity.ownerBlockPosition(),
+        this.playerCompanionEntity.getRandom());
+    if (randomBlockPos != null) {
+      this.playerCompanionEntity.getMoveControl().setWantedPosition(randomBlockPos.getX() + 0.5D,
+          randomBlockPos.getY() + 0.5D, randomBlockPos.getZ() + 0.5D, 0.25D);
+      if (this.playerCompanionEntity.getTarget() == null) {
+        this.playerCompanionEntity.getLookControl().setLookAt(randomBlockPos.getX() + 0.5D,
+            randomBlockPos.getY() + 0.5D, randomBlockPos.getZ() + 0.5D, 180.0F, 20.0F);
       }
     }
-
   }
 
 }
@@ -21,18 +21,15 @@ package de.markusbordihn.playercompanions.entity.ai.goal;
 
 import javax.annotation.Nullable;
 
-import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.ai.targeting.TargetingConditions;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.crafting.Ingredient;
 
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+import de.markusbordihn.playercompanions.level.HeldItemIndex;
 
 public class TameItemGoal extends PlayerCompanionGoal {
 
-  private static final TargetingConditions TEMP_TARGETING =
-      TargetingConditions.forNonCombat().range(10.0D).ignoreLineOfSight();
-  private final TargetingConditions targetingConditions;
+  private static final double TEMPT_RANGE = 10.0D;
   private final double speedModifier;
   private double px;
   private double py;
@@ -52,12 +49,6 @@ public class TameItemGoal extends PlayerCompanionGoal {
     this.speedModifier = speedModifier;
     this.items = Ingredient.of(playerCompanionEntity.getTameItem());
     this.canScare = true;
-    this.targetingConditions = TEMP_TARGETING.copy().selector(this::shouldFollow);
-  }
-
-  private boolean shouldFollow(LivingEntity livingEntity) {
-    return this.items.test(livingEntity.getMainHandItem())
-        || this.items.test(livingEntity.getOffhandItem());
   }
 
   @Override
@@ -68,7 +59,8 @@ public class TameItemGoal extends PlayerCompanionGoal {
       --this.calmDown;
       return false;
     } else {
-      this.player = this.playerCompanionEntity.getNearestPlayer(this.targetingConditions);
+      this.player =
+          HeldItemIndex.getNearestPlayer(this.playerCompanionEntity, this.items, TEMPT_RANGE);
       return this.player != null;
     }
   }
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.ai.navigation;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.pathfinder.Path;
+
+import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+
+/**
+ * Single pending path request of a goal. The result is picked up by the goal on a later tick,
+ * while the companion keeps its current movement.
+ */
+public class AsyncPathRequest {
+
+  private CompletableFuture<Path> pathFuture;
+
+  /**
+   * Submits a new path request to the given position, like {@code PathNavigation.moveTo} for
+   * positions. Returns false, if the path needs to be calculated synchronously instead.
+   */
+  public boolean submit(PlayerCompanionEntity playerCompanionEntity, BlockPos targetPos,
+      int accuracy) {
+    return submit(playerCompanionEntity, targetPos, 8, false, accuracy);
+  }
+
+  /**
+   * Submits a new path request to the given entity, like {@code PathNavigation.moveTo} for
+   * entities. Returns false, if the path needs to be calculated synchronously instead.
+   */
+  public boolean submit(PlayerCompanionEntity playerCompanionEntity, Entity entity,
+      int accuracy) {
+    return submit(playerCompanionEntity, entity.blockPosition(), 16, true, accuracy);
+  }
+
+  /**
+   * Submits a new path request, if there is no pending one. Returns false, if the path needs to
+   * be calculated synchronously instead.
+   */
+  public boolean submit(PlayerCompanionEntity playerCompanionEntity, BlockPos targetPos,
+      int regionOffset, boolean offsetUpward, int accuracy) {
+    if (!PlayerCompanionAsyncPathfinder.isEnabled()) {
+      return false;
+    }
+    if (this.isPending()) {
+      return true;
+    }
+    this.pathFuture = PlayerCompanionAsyncPathfinder.createPath(playerCompanionEntity, targetPos,
+        regionOffset, offsetUpward, accuracy);
+    return this.pathFuture != null;
+  }
+
+  public boolean isPending() {
+    return this.pathFuture != null && !this.pathFuture.isDone();
+  }
+
+  /** Returns the calculated path once it is available. */
+  @Nullable
+  public Path poll() {
+    if (this.pathFuture == null || !this.pathFuture.isDone()) {
+      return null;
+    }
+    Path path = this.pathFuture.getNow(null);
+    this.pathFuture = null;
+    return path;
+  }
+
+  public void cancel() {
+    if (this.pathFuture != null) {
+      this.pathFuture.cancel(false);
+      this.pathFuture = null;
+    }
+  }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.ai.navigation;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.PathNavigationRegion;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.material.FluidState;
+
+/**
+ * Path navigation region with a copy of the block states of all relevant chunk sections, so that
+ * the path could be calculated outside of the server thread.
+ */
+public class PathSnapshotRegion extends PathNavigationRegion {
+
+  private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+  private static final BlockState VOID_AIR = Blocks.VOID_AIR.defaultBlockState();
+
+  private final int minChunkX;
+  private final int minChunkZ;
+  private final int minSectionY;
+  private final PalettedContainer<BlockState>[][][] sections;
+
+  @SuppressWarnings("unchecked")
+  public PathSnapshotRegion(Level level, BlockPos fromBlockPos, BlockPos toBlockPos) {
+    super(level, fromBlockPos, toBlockPos);
+    this.minChunkX = SectionPos.blockToSectionCoord(fromBlockPos.getX());
+    this.minChunkZ = SectionPos.blockToSectionCoord(fromBlockPos.getZ());
+    this.minSectionY = SectionPos.blockToSectionCoord(
+        Math.max(fromBlockPos.getY(), level.getMinBuildHeight()));
+    int maxSectionY = SectionPos.blockToSectionCoord(
+        Math.min(toBlockPos.getY(), level.getMaxBuildHeight() - 1));
+    int sectionHeight = Math.max(0, maxSectionY - this.minSectionY + 1);
+
+    // Copy the block states of the non-empty sections on the server thread.
+    this.sections = new PalettedContainer[this.chunks.length][][];
+    for (int x = 0; x < this.chunks.length; x++) {
+      this.sections[x] = new PalettedContainer[this.chunks[x].length][];
+      for (int z = 0; z < this.chunks[x].length; z++) {
+        ChunkAccess chunkAccess = this.chunks[x][z];
+        if (chunkAccess == null) {
+          continue;
+        }
+        PalettedContainer<BlockState>[] chunkSections = new PalettedContainer[sectionHeight];
+        for (int y = 0; y < sectionHeight; y++) {
+          int sectionIndex = chunkAccess.getSectionIndexFromSectionY(this.minSectionY + y);
+          if (sectionIndex >= 0 && sectionIndex < chunkAccess.getSectionsCount()) {
+            LevelChunkSection section = chunkAccess.getSection(sectionIndex);
+            if (!section.hasOnlyAir()) {
+              chunkSections[y] = section.getStates().copy();
+            }
+          }
+        }
+        this.sections[x][z] = chunkSections;
+      }
+    }
+  }
+
+  @Override
+  public BlockState getBlockState(BlockPos blockPos) {
+    if (this.isOutsideBuildHeight(blockPos)) {
+      return AIR;
+    }
+    int x = SectionPos.blockToSectionCoord(blockPos.getX()) - this.minChunkX;
+    int z = SectionPos.blockToSectionCoord(blockPos.getZ()) - this.minChunkZ;
+    if (x < 0 || x >= this.sections.length || z < 0 || z >= this.sections[x].length
+        || this.sections[x][z] == null) {
+      return VOID_AIR;
+    }
+    PalettedContainer<BlockState>[] chunkSections = this.sections[x][z];
+    int y = SectionPos.blockToSectionCoord(blockPos.getY()) - this.minSectionY;
+    if (y < 0 || y >= chunkSections.length) {
+      return VOID_AIR;
+    }
+    PalettedContainer<BlockState> states = chunkSections[y];
+    return states == null ? AIR
+        : states.get(blockPos.getX() & 15, blockPos.getY() & 15, blockPos.getZ() & 15);
+  }
+
+  @Override
+  public FluidState getFluidState(BlockPos blockPos) {
+    return this.getBlockState(blockPos).getFluidState();
+  }
+
+  @Override
+  @Nullable
+  public BlockEntity getBlockEntity(BlockPos blockPos) {
+    // Block entities are not part of the snapshot.
+    return null;
+  }
+
+  @Override
+  public BlockGetter getChunkForCollisions(int chunkX, int chunkZ) {
+    return this;
+  }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.ai.navigation;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.minecraft.world.entity.EntityDimensions;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.Pose;
+import net.minecraft.world.level.pathfinder.BlockPathTypes;
+
+/**
+ * Detached copy of the pathfinding relevant state of a mob, like position, bounding box and
+ * pathfinding malus. Node evaluators are changing the pathfinding malus of their mob during the
+ * search, so the worker threads are only working with this copy and never with the live mob.
+ * The copy is created once per companion and only refreshed for each request.
+ */
+public class PathfindingMobSnapshot extends Mob {
+
+  private final AtomicBoolean inUse = new AtomicBoolean();
+  private EntityDimensions entityDimensions;
+  private int maxFallDistance;
+
+  @SuppressWarnings("unchecked")
+  public PathfindingMobSnapshot(Mob mob) {
+    super((EntityType<? extends Mob>) mob.getType(), mob.level);
+  }
+
+  /** Reserves the copy for a single request, which is released again by the worker. */
+  public boolean acquire() {
+    return this.inUse.compareAndSet(false, true);
+  }
+
+  public void release() {
+    this.inUse.set(false);
+  }
+
+  public void update(Mob mob) {
+    EntityDimensions dimensions = mob.getDimensions(mob.getPose());
+    if (this.entityDimensions == null || this.entityDimensions.width != dimensions.width
+        || this.entityDimensions.height != dimensions.height) {
+      this.entityDimensions = dimensions;
+      this.refreshDimensions();
+    }
+    this.maxFallDistance = mob.getMaxFallDistance();
+
+    // Copy position and movement state, which are checked for the start node.
+    this.setPos(mob.getX(), mob.getY(), mob.getZ());
+    this.setBoundingBox(mob.getBoundingBox());
+    this.setOnGround(mob.isOnGround());
+    this.setNoGravity(mob.isNoGravity());
+    this.wasTouchingWater = mob.isInWater();
+    this.maxUpStep = mob.maxUpStep;
+
+    // Copy pathfinding malus for all types, because the defaults are type specific.
+    for (BlockPathTypes blockPathTypes : BlockPathTypes.values()) {
+      this.setPathfindingMalus(blockPathTypes, mob.getPathfindingMalus(blockPathTypes));
+    }
+  }
+
+  @Override
+  public EntityDimensions getDimensions(Pose pose) {
+    return this.entityDimensions != null ? this.entityDimensions : super.getDimensions(pose);
+  }
+
+  @Override
+  public int getMaxFallDistance() {
+    return this.maxFallDistance;
+  }
+
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.ai.navigation;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.world.entity.ai.navigation.PathNavigation;
+import net.minecraft.world.level.pathfinder.FlyNodeEvaluator;
+import net.minecraft.world.level.pathfinder.NodeEvaluator;
+import net.minecraft.world.level.pathfinder.Path;
+import net.minecraft.world.level.pathfinder.PathFinder;
+import net.minecraft.world.level.pathfinder.WalkNodeEvaluator;
+
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.playercompanions.Constants;
+import de.markusbordihn.playercompanions.config.CommonConfig;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+
+@EventBusSubscriber
+public class PlayerCompanionAsyncPathfinder {
+
+  protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
+
+  private static final String LOG_PREFIX = "[Async Pathfinder]";
+
+  private static ExecutorService executorService = null;
+  private static AtomicInteger pendingRequests = new AtomicInteger();
+  private static AtomicInteger completedRequests = new AtomicInteger();
+
+  // One detached pathfinding copy per companion, which is refreshed for each request.
+  private static Map<UUID, PathfindingMobSnapshot> pathfindingMobSnapshotMap =
+      new ConcurrentHashMap<>();
+
+  protected PlayerCompanionAsyncPathfinder() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    pendingRequests = new AtomicInteger();
+    completedRequests = new AtomicInteger();
+    pathfindingMobSnapshotMap.values().forEach(PathfindingMobSnapshot::invalidateCaps);
+    pathfindingMobSnapshotMap = new ConcurrentHashMap<>();
+  }
+
+  @SubscribeEvent
+  public static void handleEntityLeaveLevelEvent(EntityLeaveLevelEvent event) {
+    if (!event.getLevel().isClientSide()
+        && event.getEntity() instanceof PlayerCompanionEntity playerCompanionEntity) {
+      PathfindingMobSnapshot pathfindingMobSnapshot =
+          pathfindingMobSnapshotMap.remove(playerCompanionEntity.getUUID());
+      if (pathfindingMobSnapshot != null) {
+        pathfindingMobSnapshot.invalidateCaps();
+      }
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleServerStoppingEvent(ServerStoppingEvent event) {
+    if (executorService != null) {
+      log.info("{} Stopping pathfinding workers ...", LOG_PREFIX);
+      executorService.shutdownNow();
+      executorService = null;
+    }
+  }
+
+  public static boolean isEnabled() {
+    return CommonConfig.getSnapshot().asyncPathfindingEnabled;
+  }
+
+  /**
+   * Requests a path to the given position, which is calculated on a worker thread. The block
+   * states and the companion state are copied on the server thread, so the result is based on a
+   * consistent snapshot. The region offset and upward flag are matching the regular path
+   * navigation call, which is replaced. Returns null, if the navigation type is not supported or
+   * the companion has already a running request.
+   */
+  @Nullable
+  public static CompletableFuture<Path> createPath(PlayerCompanionEntity playerCompanionEntity,
+      BlockPos targetPos, int regionOffset, boolean offsetUpward, int accuracy) {
+    PathNavigation pathNavigation = playerCompanionEntity.getNavigation();
+    NodeEvaluator nodeEvaluator = copyNodeEvaluator(pathNavigation.getNodeEvaluator());
+    if (nodeEvaluator == null || playerCompanionEntity.level.isClientSide) {
+      return null;
+    }
+    PathfindingMobSnapshot pathfindingMobSnapshot =
+        getPathfindingMobSnapshot(playerCompanionEntity);
+    if (!pathfindingMobSnapshot.acquire()) {
+      return null;
+    }
+    pathfindingMobSnapshot.update(playerCompanionEntity);
+
+    float followRange = (float) playerCompanionEntity.getAttributeValue(Attributes.FOLLOW_RANGE);
+    int maxVisitedNodes = Mth.floor(followRange * 16.0F);
+    int regionSize = (int) (followRange + regionOffset);
+    BlockPos blockPos = offsetUpward ? playerCompanionEntity.blockPosition().above()
+        : playerCompanionEntity.blockPosition();
+    PathSnapshotRegion pathSnapshotRegion = new PathSnapshotRegion(playerCompanionEntity.level,
+        blockPos.offset(-regionSize, -regionSize, -regionSize),
+        blockPos.offset(regionSize, regionSize, regionSize));
+    Set<BlockPos> targets = Set.of(targetPos.immutable());
+    UUID uuid = playerCompanionEntity.getUUID();
+
+    pendingRequests.incrementAndGet();
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return new PathFinder(nodeEvaluator, maxVisitedNodes).findPath(pathSnapshotRegion,
+            pathfindingMobSnapshot, targets, followRange, accuracy, 1.0F);
+      } catch (Exception e) {
+        log.error("{} Unable to calculate path for {}:", LOG_PREFIX, uuid, e);
+        return null;
+      } finally {
+        pathfindingMobSnapshot.release();
+        pendingRequests.decrementAndGet();
+        completedRequests.incrementAndGet();
+      }
+    }, getExecutorService());
+  }
+
+  public static int getPendingRequests() {
+    return pendingRequests.get();
+  }
+
+  public static int getCompletedRequests() {
+    return completedRequests.get();
+  }
+
+  private static PathfindingMobSnapshot getPathfindingMobSnapshot(
+      PlayerCompanionEntity playerCompanionEntity) {
+    PathfindingMobSnapshot pathfindingMobSnapshot =
+        pathfindingMobSnapshotMap.get(playerCompanionEntity.getUUID());
+    if (pathfindingMobSnapshot == null
+        || pathfindingMobSnapshot.level != playerCompanionEntity.level) {
+      if (pathfindingMobSnapshot != null) {
+        pathfindingMobSnapshot.invalidateCaps();
+      }
+      pathfindingMobSnapshot = new PathfindingMobSnapshot(playerCompanionEntity);
+      pathfindingMobSnapshotMap.put(playerCompanionEntity.getUUID(), pathfindingMobSnapshot);
+    }
+    return pathfindingMobSnapshot;
+  }
+
+  @Nullable
+  private static NodeEvaluator copyNodeEvaluator(NodeEvaluator nodeEvaluator) {
+    // Node evaluators are stateful, so each request needs its own instance. Only evaluators
+    // without additional settings are copied, all others are using the regular navigation.
+    NodeEvaluator result;
+    if (nodeEvaluator.getClass() == FlyNodeEvaluator.class) {
+      result = new FlyNodeEvaluator();
+    } else if (nodeEvaluator.getClass() == WalkNodeEvaluator.class) {
+      result = new WalkNodeEvaluator();
+    } else {
+      return null;
+    }
+    result.setCanPassDoors(nodeEvaluator.canPassDoors());
+    result.setCanOpenDoors(nodeEvaluator.canOpenDoors());
+    result.setCanFloat(nodeEvaluator.canFloat());
+    return result;
+  }
+
+  private static synchronized ExecutorService getExecutorService() {
+    if (executorService == null) {
+      int threads = CommonConfig.getSnapshot().asyncPathfindingThreads;
+      log.info("{} Starting {} pathfinding workers ...", LOG_PREFIX, threads);
+      AtomicInteger threadNumber = new AtomicInteger();
+      executorService = Executors.newFixedThreadPool(threads, runnable -> {
+        Thread thread = new Thread(runnable,
+            Constants.MOD_ID + "-pathfinder-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return executorService;
+  }
+
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.ai.navigation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+
+@EventBusSubscriber
+public class PlayerCompanionGroupNavigation {
+
+  // One leader path per owner and navigation type is shared with the other group members.
+  private static final int GROUP_PATH_TICK = 10;
+  private static final int GROUP_PATH_MAX_AGE = GROUP_PATH_TICK * 4;
+  private static final int MEMBER_TTL = 40;
+  private static final int CLEANUP_TICK = 1200;
+  private static final double MAX_JOIN_DISTANCE_SQR = 4.0D * 4.0D;
+
+  private static Map<Level, LevelGroupCache> levelGroupCacheMap = new ConcurrentHashMap<>();
+  private static int leaderPathCount = 0;
+  private static int sharedPathCount = 0;
+
+  protected PlayerCompanionGroupNavigation() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    levelGroupCacheMap = new ConcurrentHashMap<>();
+    leaderPathCount = 0;
+    sharedPathCount = 0;
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      levelGroupCacheMap.remove(level);
+    }
+  }
+
+  /**
+   * Returns the path to the owner for the given group member. The first member which needs a new
+   * path becomes the leader for the current cadence and all other members are following its path
+   * with their slot offset. The slot offset is limited by the start distance of the member, so that
+   * the end of the shared path is still close enough to the owner to end the follow goal.
+   * Returns null, if the member needs to calculate its own path.
+   */
+  @Nullable
+  public static Path getGroupPath(PlayerCompanionEntity playerCompanionEntity,
+      LivingEntity owner, float startDistance) {
+    Level level = playerCompanionEntity.level;
+    if (level.isClientSide) {
+      return null;
+    }
+    LevelGroupCache levelGroupCache =
+        levelGroupCacheMap.computeIfAbsent(level, key -> new LevelGroupCache());
+    long gameTime = level.getGameTime();
+    if (gameTime - levelGroupCache.lastCleanup >= CLEANUP_TICK) {
+      levelGroupCache.cleanup(gameTime);
+    }
+
+    FollowGroup followGroup = levelGroupCache.followGroups.computeIfAbsent(
+        new GroupKey(owner.getUUID(), playerCompanionEntity.getNavigation().getClass()),
+        key -> new FollowGroup());
+    int slot = followGroup.getSlot(playerCompanionEntity.getUUID(), gameTime);
+
+    // Calculate a new leader path, if the owner has moved or the path is too old.
+    long pathAge = gameTime - followGroup.pathTime;
+    BlockPos ownerPos = owner.blockPosition();
+    if (pathAge >= GROUP_PATH_MAX_AGE
+        || (pathAge >= GROUP_PATH_TICK && !ownerPos.equals(followGroup.ownerPos))) {
+      Path path = playerCompanionEntity.getNavigation().createPath(owner, 0);
+      followGroup.path = path;
+      followGroup.pathTime = gameTime;
+      followGroup.ownerPos = ownerPos;
+      leaderPathCount++;
+      return path;
+    }
+
+    // Path nodes could be diagonal, so each node offset counts as the diagonal distance.
+    int maxNodeOffset = Math.max(0, Mth.floor((startDistance - 1.0F) / Mth.SQRT_OF_TWO));
+    return followGroup.path != null
+        ? followPath(followGroup.path, playerCompanionEntity, Math.min(slot, maxNodeOffset))
+        : null;
+  }
+
+  public static int getLeaderPathCount() {
+    return leaderPathCount;
+  }
+
+  public static int getSharedPathCount() {
+    return sharedPathCount;
+  }
+
+  @Nullable
+  private static Path followPath(Path path, PlayerCompanionEntity playerCompanionEntity,
+      int nodeOffset) {
+    // Join the leader path at the closest node, if the member is near enough.
+    int nodeCount = path.getNodeCount();
+    int nextNodeIndex = -1;
+    double nextNodeDistance = MAX_JOIN_DISTANCE_SQR;
+    for (int i = 0; i < nodeCount; i++) {
+      Node node = path.getNode(i);
+      double distance = playerCompanionEntity.distanceToSqr(node.x + 0.5D, node.y, node.z + 0.5D);
+      if (distance < nextNodeDistance) {
+        nextNodeIndex = i;
+        nextNodeDistance = distance;
+      }
+    }
+    if (nextNodeIndex < 0) {
+      return null;
+    }
+
+    // Members are stopping their node offset before the end of the leader path.
+    int endNodeIndex = Math.max(nextNodeIndex + 1, nodeCount - nodeOffset);
+    List<Node> nodes = new ArrayList<>(endNodeIndex);
+    for (int i = 0; i < endNodeIndex; i++) {
+      nodes.add(path.getNode(i));
+    }
+    // Members could reach the owner, as long as the leader path reaches the owner.
+    Path groupPath = new Path(nodes, path.getTarget(), path.canReach());
+    groupPath.setNextNodeIndex(nextNodeIndex);
+    sharedPathCount++;
+    return groupPath;
+  }
+
+  private record GroupKey(UUID ownerUUID, Class<?> navigationClass) {
+  }
+
+  private static class FollowGroup {
+    private final Map<UUID, Long> members = new LinkedHashMap<>();
+    private Path path;
+    private BlockPos ownerPos;
+    private long pathTime = Long.MIN_VALUE / 2;
+
+    private int getSlot(UUID uuid, long gameTime) {
+      this.members.put(uuid, gameTime);
+      int slot = 0;
+      Iterator<Map.Entry<UUID, Long>> iterator = this.members.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<UUID, Long> member = iterator.next();
+        if (member.getKey().equals(uuid)) {
+          return slot;
+        } else if (gameTime - member.getValue() >= MEMBER_TTL) {
+          iterator.remove();
+        } else {
+          slot++;
+        }
+      }
+      return slot;
+    }
+  }
+
+  private static class LevelGroupCache {
+    private final Map<GroupKey, FollowGroup> followGroups = new HashMap<>();
+    private long lastCleanup = 0;
+
+    private void cleanup(long gameTime) {
+      this.followGroups.values()
+          .removeIf(followGroup -> gameTime - followGroup.pathTime >= CLEANUP_TICK);
+      this.lastCleanup = gameTime;
+    }
+  }
+
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.ai.navigation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.ai.navigation.PathNavigation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.pathfinder.Node;
+import net.minecraft.world.level.pathfinder.Path;
+
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+
+@EventBusSubscriber
+public class PlayerCompanionPathCache {
+
+  // Companions within the same region are sharing paths to the same target for a short time.
+  private static final int REGION_SIZE_SHIFT = 2;
+  private static final int PATH_TTL = 10;
+  private static final int CLEANUP_TICK = 100;
+  private static final int MAX_FAILURE_PENALTY = 60;
+  private static final int FAILURE_PENALTY_STEP = 10;
+  private static final int MAX_NODE_OFFSET_CHECK = 4;
+
+  private static Map<Level, LevelPathCache> levelPathCacheMap = new ConcurrentHashMap<>();
+  private static int cacheHits = 0;
+  private static int cacheMisses = 0;
+
+  protected PlayerCompanionPathCache() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    levelPathCacheMap = new ConcurrentHashMap<>();
+    cacheHits = 0;
+    cacheMisses = 0;
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      levelPathCacheMap.remove(level);
+    }
+  }
+
+  @Nullable
+  public static Path createPath(PlayerCompanionEntity playerCompanionEntity, Entity target) {
+    PathNavigation pathNavigation = playerCompanionEntity.getNavigation();
+    Level level = playerCompanionEntity.level;
+    if (level.isClientSide) {
+      return pathNavigation.createPath(target, 0);
+    }
+
+    PathEntry pathEntry = getPathEntry(playerCompanionEntity, target);
+    if (pathEntry.isValid(level.getGameTime(), target.blockPosition())) {
+      cacheHits++;
+      return pathEntry.path != null ? copyPath(pathEntry.path, playerCompanionEntity) : null;
+    }
+
+    cacheMisses++;
+    Path path = pathNavigation.createPath(target, 0);
+    pathEntry.update(path, level.getGameTime(), target.blockPosition());
+    if (path == null) {
+      pathEntry.increaseFailurePenalty();
+    }
+    return path;
+  }
+
+  public static void reportFailure(PlayerCompanionEntity playerCompanionEntity, Entity target) {
+    if (!playerCompanionEntity.level.isClientSide) {
+      getPathEntry(playerCompanionEntity, target).increaseFailurePenalty();
+    }
+  }
+
+  public static int getFailurePenalty(PlayerCompanionEntity playerCompanionEntity,
+      Entity target) {
+    return playerCompanionEntity.level.isClientSide ? 0
+        : getPathEntry(playerCompanionEntity, target).failurePenalty;
+  }
+
+  public static int getCacheHits() {
+    return cacheHits;
+  }
+
+  public static int getCacheMisses() {
+    return cacheMisses;
+  }
+
+  private static PathEntry getPathEntry(PlayerCompanionEntity playerCompanionEntity,
+      Entity target) {
+    Level level = playerCompanionEntity.level;
+    LevelPathCache levelPathCache =
+        levelPathCacheMap.computeIfAbsent(level, key -> new LevelPathCache());
+    long gameTime = level.getGameTime();
+    if (gameTime - levelPathCache.lastCleanup >= CLEANUP_TICK) {
+      levelPathCache.pathEntries.values()
+          .removeIf(pathEntry -> gameTime - pathEntry.createdTime >= CLEANUP_TICK);
+      levelPathCache.lastCleanup = gameTime;
+    }
+    BlockPos blockPos = playerCompanionEntity.blockPosition();
+    PathKey pathKey = new PathKey(blockPos.getX() >> REGION_SIZE_SHIFT,
+        blockPos.getY() >> REGION_SIZE_SHIFT, blockPos.getZ() >> REGION_SIZE_SHIFT,
+        target.getId(), playerCompanionEntity.getNavigation().getClass());
+    return levelPathCache.pathEntries.computeIfAbsent(pathKey, key -> new PathEntry());
+  }
+
+  private static Path copyPath(Path path, PlayerCompanionEntity playerCompanionEntity) {
+    int nodeCount = path.getNodeCount();
+    List<Node> nodes = new ArrayList<>(nodeCount);
+    for (int i = 0; i < nodeCount; i++) {
+      nodes.add(path.getNode(i));
+    }
+    Path sharedPath = new Path(nodes, path.getTarget(), path.canReach());
+
+    // Start at the closest of the first nodes, because the path was created by a neighbour.
+    int nextNodeIndex = 0;
+    double nextNodeDistance = Double.MAX_VALUE;
+    for (int i = 0; i < Math.min(nodeCount, MAX_NODE_OFFSET_CHECK); i++) {
+      Node node = nodes.get(i);
+      double distance = playerCompanionEntity.distanceToSqr(node.x + 0.5D, node.y, node.z + 0.5D);
+      if (distance < nextNodeDistance) {
+        nextNodeIndex = i;
+        nextNodeDistance = distance;
+      }
+    }
+    sharedPath.setNextNodeIndex(nextNodeIndex);
+    return sharedPath;
+  }
+
+  private record PathKey(int regionX, int regionY, int regionZ, int targetId,
+      Class<?> navigationClass) {
+  }
+
+  private static class PathEntry {
+    private Path path;
+    private BlockPos targetPos;
+    private long createdTime = Long.MIN_VALUE / 2;
+    private int failurePenalty = 0;
+
+    private boolean isValid(long gameTime, BlockPos currentTargetPos) {
+      return gameTime - this.createdTime < PATH_TTL && currentTargetPos.equals(this.targetPos);
+    }
+
+    private void update(Path path, long gameTime, BlockPos targetPos) {
+      this.path = path;
+      this.createdTime = gameTime;
+      this.targetPos = targetPos;
+      if (path != null && path.canReach()) {
+        this.failurePenalty = 0;
+      }
+    }
+
+    private void increaseFailurePenalty() {
+      this.failurePenalty =
+          Math.min(this.failurePenalty + FAILURE_PENALTY_STEP, MAX_FAILURE_PENALTY);
+    }
+  }
+
+  private static class LevelPathCache {
+    private final Map<PathKey, PathEntry> pathEntries = new HashMap<>();
+    private long lastCleanup = 0;
+  }
+
+}
@@ -49,7 +49,6 @@ import net.minecraft.world.entity.NeutralMob;
 import net.minecraft.world.entity.Pose;
 import net.minecraft.world.entity.ai.attributes.AttributeSupplier;
 import net.minecraft.world.entity.ai.attributes.Attributes;
-import net.minecraft.world.entity.ai.goal.FollowOwnerGoal;
 import net.minecraft.world.entity.ai.goal.Goal;
 import net.minecraft.world.entity.ai.goal.LeapAtTargetGoal;
 import net.minecraft.world.entity.ai.goal.LookAtPlayerGoal;
@@ -74,6 +73,7 @@ import de.markusbordihn.playercompanions.config.CommonConfig;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionVariant;
 import de.markusbordihn.playercompanions.entity.ai.goal.FleeGoal;
+import de.markusbordihn.playercompanions.entity.ai.goal.FollowOwnerGoal;
 import de.markusbordihn.playercompanions.entity.ai.goal.MoveToPositionGoal;
 import de.markusbordihn.playercompanions.entity.ai.goal.ShootLargeFireballGoal;
 import de.markusbordihn.playercompanions.entity.type.guard.GuardEntityFlying;
@@ -83,8 +83,6 @@ public class SmallGhast extends GuardEntityFlying implements NeutralMob {
 
   protected static final Logger log = LogManager.getLogger(Constants.LOG_NAME);
 
-  private static final CommonConfig.Config COMMON = CommonConfig.COMMON;
-
   // General Information
   public static final String ID = "small_ghast";
   public static final String NAME = "Small Ghast";
@@ -209,7 +207,7 @@ public class SmallGhast extends GuardEntityFlying implements NeutralMob {
 
   @Override
   public int getExplosionPower() {
-    return COMMON.smallGhastExplosionPower.get();
+    return CommonConfig.getSnapshot().smallGhastExplosionPower;
   }
 
   @Override
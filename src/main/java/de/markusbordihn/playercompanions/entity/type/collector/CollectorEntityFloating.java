@@ -32,6 +32,7 @@ import de.markusbordihn.playercompanions.entity.AggressionLevel;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntityFloating;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionVariant;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionsFeatures;
 import de.markusbordihn.playercompanions.entity.type.PlayerCompanionType;
 import de.markusbordihn.playercompanions.entity.type.PlayerCompanionTypeIcon;
 
@@ -81,10 +82,19 @@ public class CollectorEntityFloating extends PlayerCompanionEntityFloating {
     return PlayerCompanionTypeIcon.COLLECTOR;
   }
 
+  @Override
+  public PlayerCompanionsFeatures getFeatures() {
+    return this.collectorFeatures;
+  }
+
   @Override
   public void tick() {
     super.tick();
-    this.collectorFeatures.tick();
+
+    // Server-side features are ticked in batches by the feature system.
+    if (this.level.isClientSide) {
+      this.collectorFeatures.tick();
+    }
   }
 
 }
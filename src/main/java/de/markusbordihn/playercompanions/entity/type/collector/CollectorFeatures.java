@@ -19,9 +19,12 @@
 
 package de.markusbordihn.playercompanions.entity.type.collector;
 
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
-import net.minecraft.world.entity.EntityType;
+import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.Entity.RemovalReason;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.level.Level;
@@ -36,13 +39,27 @@ import de.markusbordihn.playercompanions.config.CommonConfig;
 import de.markusbordihn.playercompanions.data.PlayerCompanionData;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionsFeatures;
+import de.markusbordihn.playercompanions.entity.TickPriority;
+import de.markusbordihn.playercompanions.level.SpatialQueryCache;
 
 @EventBusSubscriber
 public class CollectorFeatures extends PlayerCompanionsFeatures {
 
   private static final CommonConfig.Config COMMON = CommonConfig.COMMON;
 
-  private static final short COLLECT_TICK = 20 * 3;
+  // Queued items are collected fast, the area scan is only a slow fallback for idle collectors.
+  private static final short COLLECT_TICK = 10;
+  private static final short COLLECT_SCAN_MOVING_TICK = 20 * 3;
+  private static final short COLLECT_SCAN_IDLE_TICK = 20 * 30;
+
+  // Collector zone
+  private final Set<ItemEntity> itemEntityQueue = new LinkedHashSet<>();
+  private final Set<Long> zoneChunks = new HashSet<>();
+  private BlockPos zoneBlockPos;
+  private Level zoneLevel;
+  private int zoneRadius;
+  private boolean zoneMoved = true;
+  private short scanTicker = 0;
 
   public CollectorFeatures(PlayerCompanionEntity playerCompanionEntity, Level level) {
     super(playerCompanionEntity, level);
@@ -58,31 +75,97 @@ public class CollectorFeatures extends PlayerCompanionsFeatures {
     }
   }
 
+  public Set<Long> getZoneChunks() {
+    return this.zoneChunks;
+  }
+
+  public Level getZoneLevel() {
+    return this.zoneLevel;
+  }
+
+  public void setZoneLevel(Level level) {
+    this.zoneLevel = level;
+  }
+
+  public boolean isInCollectorZone(ItemEntity itemEntity) {
+    return this.zoneBlockPos != null && !this.playerCompanionEntity.isRemoved()
+        && itemEntity.getBoundingBox()
+            .intersects(new AABB(this.zoneBlockPos).inflate(this.zoneRadius));
+  }
+
+  public void queueItemEntity(ItemEntity itemEntity) {
+    this.itemEntityQueue.add(itemEntity);
+  }
+
+  private void updateCollectorZone(int radius) {
+    BlockPos blockPos = this.playerCompanionEntity.blockPosition();
+    if (this.zoneLevel == this.level && radius == this.zoneRadius
+        && blockPos.equals(this.zoneBlockPos)) {
+      return;
+    }
+    this.zoneBlockPos = blockPos;
+    this.zoneRadius = radius;
+    this.zoneMoved = true;
+    CollectorZoneRegistry.register(this, this.level, blockPos, radius);
+  }
+
   private void collectorTick() {
+    if (this.level.isClientSide) {
+      return;
+    }
+
     // Automatic collect items in the defined radius
-    if (!this.level.isClientSide && COMMON.collectorTypeRadius.get() > 0 && ticker++ >= COLLECT_TICK) {
-      List<ItemEntity> itemEntities = this.level.getEntities(EntityType.ITEM,
-          new AABB(playerCompanionEntity.blockPosition()).inflate(COMMON.collectorTypeRadius.get()),
-          entity -> true);
-      if (!itemEntities.isEmpty()) {
-        PlayerCompanionData companionData = playerCompanionEntity.getData();
-        if (companionData != null) {
-          boolean hasCollectSomething = false;
-          for (ItemEntity itemEntity : itemEntities) {
-            if (itemEntity.isAlive() && companionData.storeInventoryItem(itemEntity.getItem())) {
-              itemEntity.remove(RemovalReason.DISCARDED);
-              hasCollectSomething = true;
-            }
-          }
-
-          // Increase experience, if we collected something (server-side).
-          if (hasCollectSomething) {
-            distributeExperience(1);
-          }
-        }
+    int radius = CommonConfig.getSnapshot().collectorTypeRadius;
+    if (radius <= 0) {
+      if (this.zoneLevel != null) {
+        CollectorZoneRegistry.unregister(this);
+      }
+      return;
+    }
+
+    // Skip collecting completely, if nothing could fit into the inventory.
+    PlayerCompanionData companionData = playerCompanionEntity.getData();
+    if (companionData == null || !companionData.hasInventorySpace()) {
+      this.itemEntityQueue.clear();
+      return;
+    }
+
+    // Collect queued items from the collector zone.
+    if (ticker++ >= COLLECT_TICK
+        && (this.itemEntityQueue.isEmpty() || canRunTick(TickPriority.FEATURE))) {
+      updateCollectorZone(radius);
+      if (!this.itemEntityQueue.isEmpty()) {
+        List<ItemEntity> itemEntities = List.copyOf(this.itemEntityQueue);
+        this.itemEntityQueue.clear();
+        collectItems(companionData, itemEntities);
       }
       ticker = 0;
     }
+
+    // Fallback: Scan the area for items which are not covered by any event, like moving items.
+    if (scanTicker++ >= (this.zoneMoved ? COLLECT_SCAN_MOVING_TICK : COLLECT_SCAN_IDLE_TICK)
+        && canRunTick(TickPriority.FEATURE)) {
+      collectItems(companionData, SpatialQueryCache.getItemEntities(this.level,
+          playerCompanionEntity.blockPosition(), radius));
+      this.zoneMoved = false;
+      scanTicker = 0;
+    }
+  }
+
+  private void collectItems(PlayerCompanionData companionData, List<ItemEntity> itemEntities) {
+    boolean hasCollectSomething = false;
+    for (ItemEntity itemEntity : itemEntities) {
+      if (itemEntity.isAlive() && isInCollectorZone(itemEntity)
+          && companionData.storeInventoryItem(itemEntity.getItem())) {
+        itemEntity.remove(RemovalReason.DISCARDED);
+        hasCollectSomething = true;
+      }
+    }
+
+    // Increase experience, if we collected something (server-side).
+    if (hasCollectSomething) {
+      distributeExperience(1);
+    }
   }
 
   @Override
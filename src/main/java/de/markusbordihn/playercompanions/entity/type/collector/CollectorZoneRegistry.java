@@ -0,0 +1,140 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.type.collector;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+@EventBusSubscriber
+public class CollectorZoneRegistry {
+
+  // Collector zones per level and chunk, a zone could cover several chunks.
+  private static Map<Level, Map<Long, Set<CollectorFeatures>>> collectorZoneMap =
+      new ConcurrentHashMap<>();
+  private static Map<Entity, CollectorFeatures> collectorEntityMap = new ConcurrentHashMap<>();
+
+  protected CollectorZoneRegistry() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    collectorZoneMap = new ConcurrentHashMap<>();
+    collectorEntityMap = new ConcurrentHashMap<>();
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      collectorZoneMap.remove(level);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleEntityJoinLevelEvent(EntityJoinLevelEvent event) {
+    if (!event.getLevel().isClientSide() && event.getEntity() instanceof ItemEntity itemEntity) {
+      queueItemEntity(event.getLevel(), itemEntity);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleEntityLeaveLevelEvent(EntityLeaveLevelEvent event) {
+    if (!event.getLevel().isClientSide()) {
+      CollectorFeatures collectorFeatures = collectorEntityMap.get(event.getEntity());
+      if (collectorFeatures != null) {
+        unregister(collectorFeatures);
+      }
+    }
+  }
+
+  public static void register(CollectorFeatures collectorFeatures, Level level,
+      BlockPos blockPos, int radius) {
+    unregister(collectorFeatures);
+    Map<Long, Set<CollectorFeatures>> levelZones =
+        collectorZoneMap.computeIfAbsent(level, key -> new HashMap<>());
+    int minChunkX = (blockPos.getX() - radius) >> 4;
+    int maxChunkX = (blockPos.getX() + radius) >> 4;
+    int minChunkZ = (blockPos.getZ() - radius) >> 4;
+    int maxChunkZ = (blockPos.getZ() + radius) >> 4;
+    for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+      for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+        long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+        levelZones.computeIfAbsent(chunkKey, key -> new HashSet<>()).add(collectorFeatures);
+        collectorFeatures.getZoneChunks().add(chunkKey);
+      }
+    }
+    collectorFeatures.setZoneLevel(level);
+    collectorEntityMap.put(collectorFeatures.getPlayerCompanionEntity(), collectorFeatures);
+  }
+
+  public static void unregister(CollectorFeatures collectorFeatures) {
+    Level level = collectorFeatures.getZoneLevel();
+    if (level != null) {
+      Map<Long, Set<CollectorFeatures>> levelZones = collectorZoneMap.get(level);
+      if (levelZones != null) {
+        for (long chunkKey : collectorFeatures.getZoneChunks()) {
+          Set<CollectorFeatures> collectors = levelZones.get(chunkKey);
+          if (collectors != null) {
+            collectors.remove(collectorFeatures);
+            if (collectors.isEmpty()) {
+              levelZones.remove(chunkKey);
+            }
+          }
+        }
+      }
+      collectorFeatures.setZoneLevel(null);
+    }
+    collectorFeatures.getZoneChunks().clear();
+    collectorEntityMap.remove(collectorFeatures.getPlayerCompanionEntity());
+  }
+
+  private static void queueItemEntity(Level level, ItemEntity itemEntity) {
+    Map<Long, Set<CollectorFeatures>> levelZones = collectorZoneMap.get(level);
+    if (levelZones == null || levelZones.isEmpty()) {
+      return;
+    }
+    BlockPos blockPos = itemEntity.blockPosition();
+    Set<CollectorFeatures> collectors =
+        levelZones.get(ChunkPos.asLong(blockPos.getX() >> 4, blockPos.getZ() >> 4));
+    if (collectors == null) {
+      return;
+    }
+    for (CollectorFeatures collectorFeatures : collectors) {
+      if (collectorFeatures.isInCollectorZone(itemEntity)) {
+        collectorFeatures.queueItemEntity(itemEntity);
+      }
+    }
+  }
+
+}
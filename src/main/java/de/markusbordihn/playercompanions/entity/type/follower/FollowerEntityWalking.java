@@ -32,6 +32,7 @@ import de.markusbordihn.playercompanions.entity.AggressionLevel;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntityWalking;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionVariant;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionsFeatures;
 import de.markusbordihn.playercompanions.entity.type.PlayerCompanionType;
 import de.markusbordihn.playercompanions.entity.type.PlayerCompanionTypeIcon;
 
@@ -86,10 +87,19 @@ public class FollowerEntityWalking extends PlayerCompanionEntityWalking {
     return PlayerCompanionTypeIcon.COLLECTOR;
   }
 
+  @Override
+  public PlayerCompanionsFeatures getFeatures() {
+    return this.followerFeatures;
+  }
+
   @Override
   public void tick() {
     super.tick();
-    this.followerFeatures.tick();
+
+    // Server-side features are ticked in batches by the feature system.
+    if (this.level.isClientSide) {
+      this.followerFeatures.tick();
+    }
   }
 
 }
@@ -32,6 +32,7 @@ import de.markusbordihn.playercompanions.entity.AggressionLevel;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntityFloating;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionVariant;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionsFeatures;
 import de.markusbordihn.playercompanions.entity.type.PlayerCompanionType;
 import de.markusbordihn.playercompanions.entity.type.PlayerCompanionTypeIcon;
 
@@ -89,10 +90,19 @@ public class GuardEntityFloating extends PlayerCompanionEntityFloating {
     guardFeatures.aiStep();
   }
 
+  @Override
+  public PlayerCompanionsFeatures getFeatures() {
+    return this.guardFeatures;
+  }
+
   @Override
   public void tick() {
     super.tick();
-    this.guardFeatures.tick();
+
+    // Server-side features are ticked in batches by the feature system.
+    if (this.level.isClientSide) {
+      this.guardFeatures.tick();
+    }
   }
 
 }
@@ -0,0 +1,204 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.type.healer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.TamableAnimal;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.playercompanions.config.CommonConfig;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+import de.markusbordihn.playercompanions.level.SpatialQueryCache;
+
+@EventBusSubscriber
+public class HealerCoordinator {
+
+  // Heal cycles of owners without active healers are removed after a few cycles.
+  private static final int CLEANUP_CYCLES = 30;
+
+  // Healers of the same owner and level are sharing the injured candidates of a heal cycle.
+  private static Map<Level, Map<UUID, Set<HealerFeatures>>> healerMap = new ConcurrentHashMap<>();
+  private static Map<Level, LevelHealCycleCache> healCycleMap = new ConcurrentHashMap<>();
+
+  protected HealerCoordinator() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    healerMap = new ConcurrentHashMap<>();
+    healCycleMap = new ConcurrentHashMap<>();
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      healerMap.remove(level);
+      healCycleMap.remove(level);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerLoggedOutEvent(PlayerEvent.PlayerLoggedOutEvent event) {
+    UUID ownerUUID = event.getEntity().getUUID();
+    for (Map<UUID, Set<HealerFeatures>> ownerHealerMap : healerMap.values()) {
+      ownerHealerMap.remove(ownerUUID);
+    }
+    for (LevelHealCycleCache levelHealCycleCache : healCycleMap.values()) {
+      levelHealCycleCache.healCycles.remove(ownerUUID);
+    }
+  }
+
+  public static void register(HealerFeatures healerFeatures, Level level, UUID ownerUUID) {
+    healerMap.computeIfAbsent(level, key -> new HashMap<>())
+        .computeIfAbsent(ownerUUID, key -> Collections.newSetFromMap(new LinkedHashMap<>()))
+        .add(healerFeatures);
+  }
+
+  public static LivingEntity assignTarget(HealerFeatures healerFeatures, Level level,
+      LivingEntity owner, long cycle, int healingAmount) {
+    HealCycle healCycle = getHealCycle(level, owner, cycle);
+    PlayerCompanionEntity healer = healerFeatures.getPlayerCompanionEntity();
+    int radius = CommonConfig.getSnapshot().healerTypeRadius;
+
+    // Assign the most injured candidate, which is not already covered by other healers.
+    for (HealCandidate candidate : healCycle.candidates) {
+      if (candidate.remainingHealth > 0 && candidate.livingEntity.isAlive()
+          && (candidate.livingEntity == owner || candidate.livingEntity == healer
+              || isInRadius(healer, candidate.livingEntity, radius))) {
+        candidate.remainingHealth -= healingAmount;
+        return candidate.livingEntity;
+      }
+    }
+    return null;
+  }
+
+  private static HealCycle getHealCycle(Level level, LivingEntity owner, long cycle) {
+    LevelHealCycleCache levelHealCycleCache =
+        healCycleMap.computeIfAbsent(level, key -> new LevelHealCycleCache());
+    if (cycle - levelHealCycleCache.lastCleanup >= CLEANUP_CYCLES) {
+      levelHealCycleCache.cleanup(cycle);
+    }
+    HealCycle healCycle = levelHealCycleCache.healCycles.get(owner.getUUID());
+    if (healCycle == null || healCycle.cycle != cycle) {
+      healCycle = new HealCycle(cycle, collectCandidates(level, owner));
+      levelHealCycleCache.healCycles.put(owner.getUUID(), healCycle);
+    }
+    return healCycle;
+  }
+
+  private static List<HealCandidate> collectCandidates(Level level, LivingEntity owner) {
+    Map<LivingEntity, HealCandidate> candidateMap = new LinkedHashMap<>();
+    addCandidate(candidateMap, owner);
+
+    Map<UUID, Set<HealerFeatures>> ownerHealerMap = healerMap.get(level);
+    Set<HealerFeatures> healers =
+        ownerHealerMap != null ? ownerHealerMap.get(owner.getUUID()) : null;
+    if (healers != null) {
+      int radius = CommonConfig.getSnapshot().healerTypeRadius;
+      healers.removeIf(healerFeatures -> healerFeatures.getPlayerCompanionEntity().isRemoved());
+      for (HealerFeatures healerFeatures : healers) {
+        PlayerCompanionEntity healer = healerFeatures.getPlayerCompanionEntity();
+        addCandidate(candidateMap, healer);
+
+        // Other players and owned tamed animals regardless of type around the healer.
+        for (Player player : SpatialQueryCache.getPlayers(level, healer.blockPosition(),
+            radius)) {
+          addCandidate(candidateMap, player);
+        }
+        for (TamableAnimal tamableAnimal : SpatialQueryCache.getTamableAnimals(level,
+            healer.blockPosition(), radius)) {
+          if (owner.getUUID().equals(tamableAnimal.getOwnerUUID())) {
+            addCandidate(candidateMap, tamableAnimal);
+          }
+        }
+      }
+    }
+
+    // Rank candidates by missing health, the owner wins any tie.
+    List<HealCandidate> candidates = new ArrayList<>(candidateMap.values());
+    candidates.sort(Comparator.comparingDouble((HealCandidate candidate) -> candidate.missingHealth)
+        .reversed().thenComparing(candidate -> candidate.livingEntity != owner));
+    return candidates;
+  }
+
+  private static void addCandidate(Map<LivingEntity, HealCandidate> candidateMap,
+      LivingEntity livingEntity) {
+    if (livingEntity.isAlive() && livingEntity.getHealth() < livingEntity.getMaxHealth()) {
+      candidateMap.computeIfAbsent(livingEntity, HealCandidate::new);
+    }
+  }
+
+  private static boolean isInRadius(LivingEntity healer, LivingEntity livingEntity, int radius) {
+    return livingEntity.level == healer.level && livingEntity.getBoundingBox()
+        .intersects(new AABB(healer.blockPosition()).inflate(radius));
+  }
+
+  private static class HealCycle {
+    private final long cycle;
+    private final List<HealCandidate> candidates;
+
+    private HealCycle(long cycle, List<HealCandidate> candidates) {
+      this.cycle = cycle;
+      this.candidates = candidates;
+    }
+  }
+
+  private static class LevelHealCycleCache {
+    private final Map<UUID, HealCycle> healCycles = new HashMap<>();
+    private long lastCleanup = 0;
+
+    private void cleanup(long cycle) {
+      // Drop outdated cycles, so that their candidates are not kept in memory.
+      this.healCycles.values().removeIf(healCycle -> healCycle.cycle < cycle);
+      this.lastCleanup = cycle;
+    }
+  }
+
+  private static class HealCandidate {
+    private final LivingEntity livingEntity;
+    private final float missingHealth;
+    private float remainingHealth;
+
+    private HealCandidate(LivingEntity livingEntity) {
+      this.livingEntity = livingEntity;
+      this.missingHealth = livingEntity.getMaxHealth() - livingEntity.getHealth();
+      this.remainingHealth = this.missingHealth;
+    }
+  }
+
+}
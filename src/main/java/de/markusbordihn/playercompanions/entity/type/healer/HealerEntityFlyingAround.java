@@ -32,6 +32,7 @@ import de.markusbordihn.playercompanions.entity.AggressionLevel;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntityFlying;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionVariant;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionsFeatures;
 import de.markusbordihn.playercompanions.entity.type.PlayerCompanionType;
 import de.markusbordihn.playercompanions.entity.type.PlayerCompanionTypeIcon;
 
@@ -82,10 +83,19 @@ public class HealerEntityFlyingAround extends PlayerCompanionEntityFlying {
     return PlayerCompanionTypeIcon.HEALER;
   }
 
+  @Override
+  public PlayerCompanionsFeatures getFeatures() {
+    return this.healerFeatures;
+  }
+
   @Override
   public void tick() {
     super.tick();
-    this.healerFeatures.tick();
+
+    // Server-side features are ticked in batches by the feature system.
+    if (this.level.isClientSide) {
+      this.healerFeatures.tick();
+    }
   }
 
 }
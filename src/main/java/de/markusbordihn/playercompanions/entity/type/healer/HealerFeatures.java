@@ -22,12 +22,10 @@ package de.markusbordihn.playercompanions.entity.type.healer;
 import java.util.List;
 
 import net.minecraft.core.particles.ParticleTypes;
-import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.TamableAnimal;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.AABB;
 
 import net.minecraftforge.event.server.ServerAboutToStartEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -37,6 +35,8 @@ import de.markusbordihn.playercompanions.Constants;
 import de.markusbordihn.playercompanions.config.CommonConfig;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionsFeatures;
+import de.markusbordihn.playercompanions.entity.TickPriority;
+import de.markusbordihn.playercompanions.level.SpatialQueryCache;
 
 @EventBusSubscriber
 public class HealerFeatures extends PlayerCompanionsFeatures {
@@ -46,6 +46,8 @@ public class HealerFeatures extends PlayerCompanionsFeatures {
   private static final short HEALER_TICK = 20 * 2;
   private static final int PARTICLE_FRAMES = 3;
 
+  private long lastHealCycle = -1;
+
   protected HealerFeatures(PlayerCompanionEntity playerCompanionEntity, Level level) {
     super(playerCompanionEntity, level);
   }
@@ -65,8 +67,23 @@ public class HealerFeatures extends PlayerCompanionsFeatures {
 
   private void healerTick() {
 
+    // Healers of the same owner are coordinated to avoid healing the same target (server-side).
+    // They are all running once within the same heal cycle, even if their tick is deferred.
+    LivingEntity owner = this.getOwner();
+    if (!level.isClientSide && owner != null) {
+      long healCycle = level.getGameTime() / HEALER_TICK;
+      if (CommonConfig.getSnapshot().healerTypeRadius > 0 && healCycle != this.lastHealCycle
+          && canRunTick(TickPriority.FEATURE)) {
+        this.lastHealCycle = healCycle;
+        coordinatedHealerTick(owner, healCycle);
+      }
+      return;
+    }
+
     // Automatic heal entities in the defined radius.
-    if (COMMON.healerTypeRadius.get() > 0 && ticker++ >= HEALER_TICK) {
+    if (CommonConfig.getSnapshot().healerTypeRadius > 0 && ticker++ >= HEALER_TICK
+        && canRunTick(TickPriority.FEATURE)) {
+
       boolean hasHealthSomething = false;
 
       // 1. Priority: Heal owner
@@ -81,9 +98,8 @@ public class HealerFeatures extends PlayerCompanionsFeatures {
 
       // 3. Priority: Heal other players in radius.
       if (!hasHealthSomething) {
-        List<Player> playerEntities = this.level.getEntities(EntityType.PLAYER,
-            new AABB(playerCompanionEntity.blockPosition()).inflate(COMMON.healerTypeRadius.get()),
-            entity -> true);
+        List<Player> playerEntities = SpatialQueryCache.getPlayers(this.level,
+            playerCompanionEntity.blockPosition(), CommonConfig.getSnapshot().healerTypeRadius);
         for (Player player : playerEntities) {
           if (player != this.getOwner() && healEntity(level, player)) {
             hasHealthSomething = true;
@@ -94,10 +110,8 @@ public class HealerFeatures extends PlayerCompanionsFeatures {
 
       // 4. Priority: Heal owned tamed animals regardless of type.
       if (!hasHealthSomething && this.getOwner() != null) {
-        List<TamableAnimal> tamableAnimals = playerCompanionEntity.level.getEntitiesOfClass(
-            TamableAnimal.class,
-            new AABB(playerCompanionEntity.blockPosition()).inflate(COMMON.healerTypeRadius.get()),
-            entity -> true);
+        List<TamableAnimal> tamableAnimals = SpatialQueryCache.getTamableAnimals(this.level,
+            playerCompanionEntity.blockPosition(), CommonConfig.getSnapshot().healerTypeRadius);
         for (TamableAnimal tamableAnimal : tamableAnimals) {
           if (tamableAnimal != this.playerCompanionEntity
               && tamableAnimal.getOwner() == this.getOwner() && healEntity(level, tamableAnimal)) {
@@ -116,6 +130,23 @@ public class HealerFeatures extends PlayerCompanionsFeatures {
     }
   }
 
+  private void coordinatedHealerTick(LivingEntity owner, long healCycle) {
+    HealerCoordinator.register(this, level, owner.getUUID());
+    LivingEntity target =
+        HealerCoordinator.assignTarget(this, level, owner, healCycle, getHealingAmount());
+
+    // Increase experience if we have health something.
+    if (target != null && healEntity(level, target)) {
+      distributeExperience(1);
+    }
+  }
+
+  private int getHealingAmount() {
+    CommonConfig.Snapshot config = CommonConfig.getSnapshot();
+    return playerCompanionEntity.getHealingAmountFromExperienceLevel(getExperienceLevel(),
+        config.healerTypeMinAmount, config.healerTypeMaxAmount);
+  }
+
   public boolean healEntity(Level level, LivingEntity livingEntity) {
     if (!livingEntity.isAlive() || livingEntity.getHealth() >= livingEntity.getMaxHealth()) {
       return false;
@@ -124,9 +155,7 @@ public class HealerFeatures extends PlayerCompanionsFeatures {
     if (level.isClientSide) {
       healAnimation(livingEntity, level);
     } else {
-      int healingAmount = playerCompanionEntity.getHealingAmountFromExperienceLevel(
-          getExperienceLevel(), COMMON.healerTypeMinAmount.get(), COMMON.healerTypeMaxAmount.get());
-      livingEntity.heal(healingAmount);
+      livingEntity.heal(getHealingAmount());
       return true;
     }
     return false;
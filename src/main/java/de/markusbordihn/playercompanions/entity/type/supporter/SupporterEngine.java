@@ -0,0 +1,244 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.entity.type.supporter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.TamableAnimal;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import net.minecraftforge.event.entity.living.MobEffectEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.playercompanions.config.CommonConfig;
+import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+import de.markusbordihn.playercompanions.entity.type.PlayerCompanionType;
+import de.markusbordihn.playercompanions.level.SpatialQueryCache;
+
+@EventBusSubscriber
+public class SupporterEngine {
+
+  // Supporters of the same owner and level are sharing the buff candidates of a buff cycle.
+  private static Map<Level, Map<UUID, Set<SupporterFeatures>>> supporterMap =
+      new ConcurrentHashMap<>();
+  private static Map<Level, Map<UUID, BuffCycle>> buffCycleMap = new ConcurrentHashMap<>();
+
+  // Cached effect expire times, to avoid effect lookups for already buffed entities.
+  private static Map<LivingEntity, Map<MobEffect, Long>> effectExpireMap =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  protected SupporterEngine() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    supporterMap = new ConcurrentHashMap<>();
+    buffCycleMap = new ConcurrentHashMap<>();
+    effectExpireMap = Collections.synchronizedMap(new WeakHashMap<>());
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      supporterMap.remove(level);
+      buffCycleMap.remove(level);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleMobEffectRemoveEvent(MobEffectEvent.Remove event) {
+    if (event.getEffect() != null) {
+      removeCachedEffect(event.getEntity(), event.getEffect());
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleMobEffectExpiredEvent(MobEffectEvent.Expired event) {
+    if (event.getEffectInstance() != null) {
+      removeCachedEffect(event.getEntity(), event.getEffectInstance().getEffect());
+    }
+  }
+
+  public static void register(SupporterFeatures supporterFeatures, Level level, UUID ownerUUID) {
+    supporterMap.computeIfAbsent(level, key -> new HashMap<>())
+        .computeIfAbsent(ownerUUID, key -> Collections.newSetFromMap(new LinkedHashMap<>()))
+        .add(supporterFeatures);
+  }
+
+  public static List<LivingEntity> getCandidates(SupporterFeatures supporterFeatures, Level level,
+      LivingEntity owner, long cycle) {
+    BuffCycle buffCycle = getBuffCycle(level, owner, cycle);
+    PlayerCompanionEntity supporter = supporterFeatures.getPlayerCompanionEntity();
+    AABB searchArea =
+        new AABB(supporter.blockPosition()).inflate(CommonConfig.getSnapshot().supporterTypeRadius);
+
+    // The owner and the supporter itself are buffed regardless of the distance.
+    List<LivingEntity> candidates = new ArrayList<>();
+    for (int index = 0; index <= buffCycle.candidates.size(); index++) {
+      if (index == buffCycle.selfIndex) {
+        candidates.add(supporter);
+      }
+      LivingEntity livingEntity =
+          index < buffCycle.candidates.size() ? buffCycle.candidates.get(index) : null;
+      if (livingEntity != null && livingEntity.isAlive()
+          && (buffCycle.selfIndex < 0 || livingEntity != supporter)
+          && (livingEntity == owner || (livingEntity.level == level
+              && livingEntity.getBoundingBox().intersects(searchArea)))) {
+        candidates.add(livingEntity);
+      }
+    }
+    return candidates;
+  }
+
+  public static boolean hasEffect(LivingEntity livingEntity, MobEffect mobEffect) {
+    long gameTime = livingEntity.level.getGameTime();
+    Map<MobEffect, Long> effectMap = effectExpireMap.get(livingEntity);
+    Long expireTime = effectMap != null ? effectMap.get(mobEffect) : null;
+    if (expireTime != null && expireTime > gameTime) {
+      return true;
+    }
+
+    MobEffectInstance mobEffectInstance = livingEntity.getEffect(mobEffect);
+    if (mobEffectInstance == null) {
+      return false;
+    }
+    cacheEffect(livingEntity, mobEffect, gameTime + mobEffectInstance.getDuration());
+    return true;
+  }
+
+  public static void addEffect(LivingEntity livingEntity, MobEffect mobEffect, int duration) {
+    livingEntity.addEffect(new MobEffectInstance(mobEffect, duration, 0, false, false, true));
+    cacheEffect(livingEntity, mobEffect, livingEntity.level.getGameTime() + duration);
+  }
+
+  private static void cacheEffect(LivingEntity livingEntity, MobEffect mobEffect,
+      long expireTime) {
+    effectExpireMap.computeIfAbsent(livingEntity, key -> new HashMap<>()).put(mobEffect,
+        expireTime);
+  }
+
+  private static void removeCachedEffect(LivingEntity livingEntity, MobEffect mobEffect) {
+    Map<MobEffect, Long> effectMap = effectExpireMap.get(livingEntity);
+    if (effectMap != null) {
+      effectMap.remove(mobEffect);
+    }
+  }
+
+  private static BuffCycle getBuffCycle(Level level, LivingEntity owner, long cycle) {
+    Map<UUID, BuffCycle> ownerBuffCycleMap =
+        buffCycleMap.computeIfAbsent(level, key -> new HashMap<>());
+    BuffCycle buffCycle = ownerBuffCycleMap.get(owner.getUUID());
+    if (buffCycle == null || buffCycle.cycle != cycle) {
+      buffCycle = collectCandidates(level, owner, cycle);
+      ownerBuffCycleMap.put(owner.getUUID(), buffCycle);
+    }
+    return buffCycle;
+  }
+
+  private static BuffCycle collectCandidates(Level level, LivingEntity owner, long cycle) {
+    Map<UUID, Set<SupporterFeatures>> ownerSupporterMap = supporterMap.get(level);
+    Set<SupporterFeatures> supporters =
+        ownerSupporterMap != null ? ownerSupporterMap.get(owner.getUUID()) : null;
+    List<PlayerCompanionEntity> supporterEntities = new ArrayList<>();
+    if (supporters != null) {
+      supporters.removeIf(
+          supporterFeatures -> supporterFeatures.getPlayerCompanionEntity().isRemoved());
+      for (SupporterFeatures supporterFeatures : supporters) {
+        supporterEntities.add(supporterFeatures.getPlayerCompanionEntity());
+      }
+    }
+
+    // Collect all candidates in the configured order with a single scan per supporter.
+    // The position of "self" is only remembered, because it is the calling supporter.
+    Set<LivingEntity> candidates = new LinkedHashSet<>();
+    int selfIndex = -1;
+    int radius = CommonConfig.getSnapshot().supporterTypeRadius;
+    for (String buffTarget : CommonConfig.getSnapshot().supporterTypeBuffOrder) {
+      switch (buffTarget) {
+        case "owner":
+          candidates.add(owner);
+          break;
+        case "self":
+          if (selfIndex < 0) {
+            selfIndex = candidates.size();
+          }
+          break;
+        case "player":
+          for (PlayerCompanionEntity supporter : supporterEntities) {
+            candidates.addAll(
+                SpatialQueryCache.getPlayers(level, supporter.blockPosition(), radius));
+          }
+          break;
+        case "healer":
+          for (PlayerCompanionEntity supporter : supporterEntities) {
+            for (PlayerCompanionEntity playerCompanion : SpatialQueryCache
+                .getPlayerCompanions(level, supporter.blockPosition(), radius)) {
+              if (playerCompanion.getCompanionType() == PlayerCompanionType.HEALER
+                  && owner.getUUID().equals(playerCompanion.getOwnerUUID())) {
+                candidates.add(playerCompanion);
+              }
+            }
+          }
+          break;
+        case "tamable":
+          for (PlayerCompanionEntity supporter : supporterEntities) {
+            for (TamableAnimal tamableAnimal : SpatialQueryCache.getTamableAnimals(level,
+                supporter.blockPosition(), radius)) {
+              if (owner.getUUID().equals(tamableAnimal.getOwnerUUID())) {
+                candidates.add(tamableAnimal);
+              }
+            }
+          }
+          break;
+        default:
+      }
+    }
+    return new BuffCycle(cycle, new ArrayList<>(candidates), selfIndex);
+  }
+
+  private static class BuffCycle {
+    private final long cycle;
+    private final List<LivingEntity> candidates;
+    private final int selfIndex;
+
+    private BuffCycle(long cycle, List<LivingEntity> candidates, int selfIndex) {
+      this.cycle = cycle;
+      this.candidates = candidates;
+      this.selfIndex = selfIndex;
+    }
+  }
+
+}
@@ -19,16 +19,9 @@
 
 package de.markusbordihn.playercompanions.entity.type.supporter;
 
-import java.util.List;
-
-import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
-import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.TamableAnimal;
-import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.phys.AABB;
 
 import net.minecraftforge.event.server.ServerAboutToStartEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -38,7 +31,7 @@ import de.markusbordihn.playercompanions.Constants;
 import de.markusbordihn.playercompanions.config.CommonConfig;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionsFeatures;
-import de.markusbordihn.playercompanions.entity.type.PlayerCompanionType;
+import de.markusbordihn.playercompanions.entity.TickPriority;
 
 @EventBusSubscriber
 public class SupporterFeatures extends PlayerCompanionsFeatures {
@@ -64,58 +57,21 @@ public class SupporterFeatures extends PlayerCompanionsFeatures {
   private void supporterTick() {
 
     // Automatic buff entities in the defined radius.
-    if (!level.isClientSide && COMMON.supporterTypeRadius.get() > 0 && ticker++ >= SUPPORTER_TICK) {
+    if (!level.isClientSide && CommonConfig.getSnapshot().supporterTypeRadius > 0
+        && ticker++ >= SUPPORTER_TICK
+        && canRunTick(TickPriority.FEATURE)) {
       boolean hasBuffSomething = false;
 
-      // 1. Priority: Buff owner.
-      if (this.getOwner() != null && buffLivingEntity(this.getOwner())) {
-        hasBuffSomething = true;
-      }
-
-      // 2. Priority: Buff self.
-      if (!hasBuffSomething && buffLivingEntity(this.playerCompanionEntity)) {
-        hasBuffSomething = true;
-      }
-
-      // 3. Priority: Buff other players in radius.
-      if (!hasBuffSomething) {
-        List<Player> playerEntities = this.level.getEntities(EntityType.PLAYER,
-            new AABB(playerCompanionEntity.blockPosition()).inflate(COMMON.supporterTypeRadius.get()),
-            entity -> true);
-        for (Player player : playerEntities) {
-          if (player != this.getOwner() && buffLivingEntity(player)) {
-            hasBuffSomething = true;
-            break;
-          }
-        }
-      }
-
-      // 4. Priority: Buff owned healer.
-      if (!hasBuffSomething && this.getOwner() != null) {
-        List<PlayerCompanionEntity> playerCompanions =
-            playerCompanionEntity.level.getEntitiesOfClass(PlayerCompanionEntity.class,
-                new AABB(playerCompanionEntity.blockPosition()).inflate(COMMON.supporterTypeRadius.get()),
-                entity -> true);
-        for (PlayerCompanionEntity playerCompanion : playerCompanions) {
-          if (playerCompanion != this.playerCompanionEntity
-              && playerCompanion.getCompanionType() == PlayerCompanionType.HEALER
-              && playerCompanion.getOwner() == this.getOwner()
-              && buffLivingEntity(playerCompanion)) {
-            hasBuffSomething = true;
-            break;
-          }
-        }
-      }
-
-      // 5. Priority: Buff owned tamed animals regardless of type.
-      if (!hasBuffSomething && this.getOwner() != null) {
-        List<TamableAnimal> tamableAnimals =
-            playerCompanionEntity.level.getEntitiesOfClass(TamableAnimal.class,
-                new AABB(playerCompanionEntity.blockPosition()).inflate(COMMON.supporterTypeRadius.get()),
-                entity -> true);
-        for (TamableAnimal tamableAnimal : tamableAnimals) {
-          if (tamableAnimal != this.playerCompanionEntity
-              && tamableAnimal.getOwner() == this.getOwner() && buffLivingEntity(tamableAnimal)) {
+      // Without owner only the supporter itself could be buffed.
+      LivingEntity owner = this.getOwner();
+      if (owner == null) {
+        hasBuffSomething = buffLivingEntity(this.playerCompanionEntity);
+      } else {
+        // Buff the first candidate of the shared buff cycle, which is missing any buff.
+        SupporterEngine.register(this, level, owner.getUUID());
+        for (LivingEntity livingEntity : SupporterEngine.getCandidates(this, level, owner,
+            level.getGameTime() / SUPPORTER_TICK)) {
+          if (buffLivingEntity(livingEntity)) {
             hasBuffSomething = true;
             break;
           }
@@ -168,29 +124,30 @@ public class SupporterFeatures extends PlayerCompanionsFeatures {
   }
 
   public boolean buffLivingEntityDamageBoost(LivingEntity livingEntity) {
-    if (COMMON.supporterTypeDamageBoostDuration.get() > 0 && !livingEntity.hasEffect(MobEffects.DAMAGE_BOOST)) {
-      livingEntity.addEffect(new MobEffectInstance(MobEffects.DAMAGE_BOOST,
-          COMMON.supporterTypeDamageBoostDuration.get(), 0, false, false, true));
+    if (CommonConfig.getSnapshot().supporterTypeDamageBoostDuration > 0
+        && !SupporterEngine.hasEffect(livingEntity, MobEffects.DAMAGE_BOOST)) {
+      SupporterEngine.addEffect(livingEntity, MobEffects.DAMAGE_BOOST,
+          CommonConfig.getSnapshot().supporterTypeDamageBoostDuration);
       return true;
     }
     return false;
   }
 
   public boolean buffLivingEntityDamageResistance(LivingEntity livingEntity) {
-    if (COMMON.supporterTypeDamageResistanceDuration.get() > 0
-        && !livingEntity.hasEffect(MobEffects.DAMAGE_RESISTANCE)) {
-      livingEntity.addEffect(new MobEffectInstance(MobEffects.DAMAGE_RESISTANCE,
-          COMMON.supporterTypeDamageResistanceDuration.get(), 0, false, false, true));
+    if (CommonConfig.getSnapshot().supporterTypeDamageResistanceDuration > 0
+        && !SupporterEngine.hasEffect(livingEntity, MobEffects.DAMAGE_RESISTANCE)) {
+      SupporterEngine.addEffect(livingEntity, MobEffects.DAMAGE_RESISTANCE,
+          CommonConfig.getSnapshot().supporterTypeDamageResistanceDuration);
       return true;
     }
     return false;
   }
 
   public boolean buffLivingEntityFireResistance(LivingEntity livingEntity) {
-    if (COMMON.supporterTypeFireResistanceDuration.get() > 0
-        && !livingEntity.hasEffect(MobEffects.FIRE_RESISTANCE)) {
-      livingEntity.addEffect(new MobEffectInstance(MobEffects.FIRE_RESISTANCE,
-          COMMON.supporterTypeFireResistanceDuration.get(), 0, false, false, true));
+    if (CommonConfig.getSnapshot().supporterTypeFireResistanceDuration > 0
+        && !SupporterEngine.hasEffect(livingEntity, MobEffects.FIRE_RESISTANCE)) {
+      SupporterEngine.addEffect(livingEntity, MobEffects.FIRE_RESISTANCE,
+          CommonConfig.getSnapshot().supporterTypeFireResistanceDuration);
       return true;
     }
     return false;
@@ -40,7 +40,6 @@ import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.common.UsernameCache;
 
 import de.markusbordihn.playercompanions.Constants;
-import de.markusbordihn.playercompanions.data.Experience;
 import de.markusbordihn.playercompanions.data.PlayerCompanionData;
 import de.markusbordihn.playercompanions.data.PlayerCompanionsClientData;
 import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
@@ -75,7 +74,7 @@ public class PlayerCompanionEntityProvider implements IEntityComponentProvider {
         }
         tooltip.add(Component.translatable(Constants.TEXT_PREFIX + "tamed_companion_level",
             playerCompanionEntity.getExperienceLevel(), playerCompanionEntity.getExperience(),
-            Experience.getExperienceForNextLevel(playerCompanionEntity.getExperienceLevel())));
+            playerCompanionEntity.getExperienceForNextLevel()));
         if (data != null) {
           long respawnTimer =
               data.getEntityRespawnTimer() - java.time.Instant.now().getEpochSecond();
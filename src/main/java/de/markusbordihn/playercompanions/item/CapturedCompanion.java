@@ -120,7 +120,17 @@ public class CapturedCompanion extends Item {
       return false;
     }
 
-    return PlayerCompanionSpawnManager.despawn(livingEntity);
+    if (!PlayerCompanionSpawnManager.despawn(livingEntity)) {
+      return false;
+    }
+
+    // Captured companions are only stored as data, until they are released again.
+    PlayerCompanionData playerCompanionData =
+        PlayerCompanionsServerData.get().getCompanion(capturedCompanionUUID);
+    if (playerCompanionData != null) {
+      playerCompanionData.setCaptured(true);
+    }
+    return true;
   }
 
   public boolean createTamedCompanion(ItemStack itemStack, Player player, Level level) {
@@ -335,7 +345,8 @@ public class CapturedCompanion extends Item {
         if (playerCompanionData.getExperience() > 0) {
           tooltipList.add(Component.translatable(Constants.TEXT_PREFIX + "tamed_companion_level",
               playerCompanionData.getExperienceLevel(), playerCompanionData.getExperience(),
-              Experience.getExperienceForNextLevel(playerCompanionData.getExperienceLevel())));
+              Experience.getCurve(playerCompanionData.getType())
+                  .getExperienceForNextLevel(playerCompanionData.getExperienceLevel())));
         }
 
         // Handle respawn timer, if any.
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.level;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.Level;
+
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+@EventBusSubscriber
+public class FreeAirSampleCache {
+
+  // Flight box around the owner, which matches the wander range of flying companions.
+  public static final int HORIZONTAL_RANGE = 7;
+  public static final int VERTICAL_RANGE = 5;
+
+  private static final int SAMPLE_SIZE = 24;
+  private static final int MIN_REFRESH_TICK = 20;
+  private static final int MAX_REFRESH_TICK = 200;
+  private static final int CLEANUP_TICK = 1200;
+  private static final int MAX_CENTER_DISTANCE_SQR = 4 * 4;
+
+  private static Map<Level, LevelAirCache> levelAirCacheMap = new ConcurrentHashMap<>();
+
+  protected FreeAirSampleCache() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    levelAirCacheMap = new ConcurrentHashMap<>();
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      levelAirCacheMap.remove(level);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleNeighborNotifyEvent(BlockEvent.NeighborNotifyEvent event) {
+    if (event.getLevel().isClientSide() || !(event.getLevel() instanceof Level level)) {
+      return;
+    }
+    LevelAirCache levelAirCache = levelAirCacheMap.get(level);
+    if (levelAirCache == null || levelAirCache.airSamples.isEmpty()) {
+      return;
+    }
+
+    // Update all samples around owners, which are affected by the block change.
+    BlockPos blockPos = event.getPos();
+    boolean isEmptyBlock = event.getState().isAir();
+    for (AirSamples airSamples : levelAirCache.airSamples.values()) {
+      if (airSamples.contains(blockPos)) {
+        airSamples.update(blockPos.immutable(), isEmptyBlock);
+      }
+    }
+  }
+
+  /** Returns a random known-empty position around the owner, or null if none is known. */
+  @Nullable
+  public static BlockPos getRandomAirPosition(Level level, UUID ownerUUID, BlockPos ownerPos,
+      RandomSource random) {
+    LevelAirCache levelAirCache =
+        levelAirCacheMap.computeIfAbsent(level, key -> new LevelAirCache());
+    long gameTime = level.getGameTime();
+    if (gameTime - levelAirCache.lastCleanup >= CLEANUP_TICK) {
+      levelAirCache.airSamples.values()
+          .removeIf(airSamples -> gameTime - airSamples.sampleTime >= CLEANUP_TICK);
+      levelAirCache.lastCleanup = gameTime;
+    }
+
+    AirSamples airSamples =
+        levelAirCache.airSamples.computeIfAbsent(ownerUUID, key -> new AirSamples());
+    long sampleAge = gameTime - airSamples.sampleTime;
+    if (sampleAge >= MAX_REFRESH_TICK || (sampleAge >= MIN_REFRESH_TICK
+        && airSamples.center.distSqr(ownerPos) > MAX_CENTER_DISTANCE_SQR)) {
+      airSamples.refresh(level, ownerPos.immutable(), random, gameTime);
+    }
+    List<BlockPos> positions = airSamples.positions;
+    return positions.isEmpty() ? null : positions.get(random.nextInt(positions.size()));
+  }
+
+  private static class AirSamples {
+    private List<BlockPos> positions = new ArrayList<>();
+    private BlockPos center = BlockPos.ZERO;
+    private long sampleTime = Long.MIN_VALUE / 2;
+
+    private void refresh(Level level, BlockPos ownerPos, RandomSource random, long gameTime) {
+      List<BlockPos> emptyPositions = new ArrayList<>();
+      for (int i = 0; i < SAMPLE_SIZE; i++) {
+        BlockPos blockPos = ownerPos.offset(
+            random.nextInt(HORIZONTAL_RANGE * 2 + 1) - HORIZONTAL_RANGE,
+            random.nextInt(VERTICAL_RANGE * 2 + 1) - VERTICAL_RANGE,
+            random.nextInt(HORIZONTAL_RANGE * 2 + 1) - HORIZONTAL_RANGE);
+        if (level.isEmptyBlock(blockPos)) {
+          emptyPositions.add(blockPos);
+        }
+      }
+      this.positions = emptyPositions;
+      this.center = ownerPos;
+      this.sampleTime = gameTime;
+    }
+
+    private boolean contains(BlockPos blockPos) {
+      return Math.abs(blockPos.getX() - this.center.getX()) <= HORIZONTAL_RANGE
+          && Math.abs(blockPos.getY() - this.center.getY()) <= VERTICAL_RANGE
+          && Math.abs(blockPos.getZ() - this.center.getZ()) <= HORIZONTAL_RANGE;
+    }
+
+    private void update(BlockPos blockPos, boolean isEmptyBlock) {
+      if (isEmptyBlock) {
+        if (!this.positions.contains(blockPos) && this.positions.size() < SAMPLE_SIZE) {
+          this.positions.add(blockPos);
+        }
+      } else {
+        this.positions.remove(blockPos);
+      }
+    }
+  }
+
+  private static class LevelAirCache {
+    private final Map<UUID, AirSamples> airSamples = new HashMap<>();
+    private long lastCleanup = 0;
+  }
+
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.level;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.level.Level;
+
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+@EventBusSubscriber
+public class HeldItemIndex {
+
+  // Players per level grouped by the items in their main and off hand.
+  private static Map<Level, Map<Item, Set<UUID>>> levelItemIndexMap = new ConcurrentHashMap<>();
+  private static Map<UUID, HeldItems> heldItemsMap = new ConcurrentHashMap<>();
+
+  protected HeldItemIndex() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    levelItemIndexMap = new ConcurrentHashMap<>();
+    heldItemsMap = new ConcurrentHashMap<>();
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      levelItemIndexMap.remove(level);
+      heldItemsMap.values().removeIf(heldItems -> heldItems.level() == level);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handleLivingEquipmentChangeEvent(LivingEquipmentChangeEvent event) {
+    EquipmentSlot equipmentSlot = event.getSlot();
+    if (equipmentSlot.getType() == EquipmentSlot.Type.HAND
+        && event.getEntity() instanceof Player player && !player.level.isClientSide) {
+      update(player);
+    }
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerChangedDimensionEvent(
+      PlayerEvent.PlayerChangedDimensionEvent event) {
+    update(event.getEntity());
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerRespawnEvent(PlayerEvent.PlayerRespawnEvent event) {
+    update(event.getEntity());
+  }
+
+  @SubscribeEvent
+  public static void handlePlayerLoggedOutEvent(PlayerEvent.PlayerLoggedOutEvent event) {
+    remove(event.getEntity().getUUID());
+  }
+
+  /** Returns the nearest player within the range, which holds one of the given items. */
+  @Nullable
+  public static Player getNearestPlayer(Entity entity, Ingredient ingredient, double range) {
+    Map<Item, Set<UUID>> itemIndex = levelItemIndexMap.get(entity.level);
+    if (itemIndex == null || itemIndex.isEmpty()) {
+      return null;
+    }
+    Player nearestPlayer = null;
+    double nearestDistance = range * range;
+    for (ItemStack itemStack : ingredient.getItems()) {
+      Set<UUID> playerUUIDs = itemIndex.get(itemStack.getItem());
+      if (playerUUIDs == null) {
+        continue;
+      }
+      for (UUID playerUUID : playerUUIDs) {
+        HeldItems heldItems = heldItemsMap.get(playerUUID);
+        Player player = heldItems != null ? heldItems.player() : null;
+        if (player == null || !player.isAlive() || player.isSpectator()
+            || player.level != entity.level) {
+          continue;
+        }
+        double distance = entity.distanceToSqr(player);
+        if (distance <= nearestDistance && (ingredient.test(player.getMainHandItem())
+            || ingredient.test(player.getOffhandItem()))) {
+          nearestPlayer = player;
+          nearestDistance = distance;
+        }
+      }
+    }
+    return nearestPlayer;
+  }
+
+  private static void update(Player player) {
+    UUID playerUUID = player.getUUID();
+    remove(playerUUID);
+    HeldItems heldItems = new HeldItems(player, player.level,
+        player.getMainHandItem().getItem(), player.getOffhandItem().getItem());
+    heldItemsMap.put(playerUUID, heldItems);
+    Map<Item, Set<UUID>> itemIndex =
+        levelItemIndexMap.computeIfAbsent(player.level, key -> new HashMap<>());
+    if (!player.getMainHandItem().isEmpty()) {
+      itemIndex.computeIfAbsent(heldItems.mainHand(), key -> new HashSet<>()).add(playerUUID);
+    }
+    if (!player.getOffhandItem().isEmpty()) {
+      itemIndex.computeIfAbsent(heldItems.offHand(), key -> new HashSet<>()).add(playerUUID);
+    }
+  }
+
+  private static void remove(UUID playerUUID) {
+    HeldItems heldItems = heldItemsMap.remove(playerUUID);
+    if (heldItems == null) {
+      return;
+    }
+    Map<Item, Set<UUID>> itemIndex = levelItemIndexMap.get(heldItems.level());
+    if (itemIndex != null) {
+      removeFromIndex(itemIndex, heldItems.mainHand(), playerUUID);
+      removeFromIndex(itemIndex, heldItems.offHand(), playerUUID);
+    }
+  }
+
+  private static void removeFromIndex(Map<Item, Set<UUID>> itemIndex, Item item,
+      UUID playerUUID) {
+    Set<UUID> playerUUIDs = itemIndex.get(item);
+    if (playerUUIDs != null && playerUUIDs.remove(playerUUID) && playerUUIDs.isEmpty()) {
+      itemIndex.remove(item);
+    }
+  }
+
+  private record HeldItems(Player player, Level level, Item mainHand, Item offHand) {
+  }
+
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright 2022 Markus Bordihn
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package de.markusbordihn.playercompanions.level;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.TamableAnimal;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerAboutToStartEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+
+import de.markusbordihn.playercompanions.entity.PlayerCompanionEntity;
+
+@EventBusSubscriber
+public class SpatialQueryCache {
+
+  // Queries within the same cell and radius are sharing the same snapshot.
+  private static final int CELL_SIZE_SHIFT = 3;
+  private static final int CELL_SIZE = 1 << CELL_SIZE_SHIFT;
+
+  private static Map<Level, LevelQueryCache> levelQueryCacheMap = new ConcurrentHashMap<>();
+
+  protected SpatialQueryCache() {}
+
+  @SubscribeEvent
+  public static void handleServerAboutToStartEvent(ServerAboutToStartEvent event) {
+    levelQueryCacheMap = new ConcurrentHashMap<>();
+  }
+
+  @SubscribeEvent
+  public static void handleLevelUnloadEvent(LevelEvent.Unload event) {
+    if (event.getLevel() instanceof Level level) {
+      levelQueryCacheMap.remove(level);
+    }
+  }
+
+  public static List<Player> getPlayers(Level level, BlockPos blockPos, double radius) {
+    // Players are already tracked per level, so there is no need for an additional snapshot.
+    AABB searchArea = new AABB(blockPos).inflate(radius);
+    List<Player> result = new ArrayList<>();
+    for (Player player : level.players()) {
+      if (player.isAlive() && player.getBoundingBox().intersects(searchArea)) {
+        result.add(player);
+      }
+    }
+    return result;
+  }
+
+  public static List<ItemEntity> getItemEntities(Level level, BlockPos blockPos, double radius) {
+    return getEntities(level, ItemEntity.class, blockPos, radius);
+  }
+
+  public static List<TamableAnimal> getTamableAnimals(Level level, BlockPos blockPos,
+      double radius) {
+    return getEntities(level, TamableAnimal.class, blockPos, radius);
+  }
+
+  public static List<PlayerCompanionEntity> getPlayerCompanions(Level level, BlockPos blockPos,
+      double radius) {
+    return getEntities(level, PlayerCompanionEntity.class, blockPos, radius);
+  }
+
+  public static <T extends Entity> List<T> getEntities(Level level, Class<T> entityClass,
+      BlockPos blockPos, double radius) {
+    List<T> snapshot = getSnapshot(level, entityClass, blockPos, radius);
+    if (snapshot.isEmpty()) {
+      return Collections.emptyList();
+    }
+    AABB searchArea = new AABB(blockPos).inflate(radius);
+    List<T> result = new ArrayList<>();
+    for (T entity : snapshot) {
+      if (entity.isAlive() && entity.getBoundingBox().intersects(searchArea)) {
+        result.add(entity);
+      }
+    }
+    return result;
+  }
+
+  private static <T extends Entity> List<T> getSnapshot(Level level, Class<T> entityClass,
+      BlockPos blockPos, double radius) {
+    LevelQueryCache levelQueryCache =
+        levelQueryCacheMap.computeIfAbsent(level, key -> new LevelQueryCache());
+
+    // Snapshots are only valid for the current tick.
+    long gameTime = level.getGameTime();
+    if (levelQueryCache.gameTime != gameTime) {
+      levelQueryCache.snapshots.clear();
+      levelQueryCache.gameTime = gameTime;
+    }
+
+    int cellX = blockPos.getX() >> CELL_SIZE_SHIFT;
+    int cellY = blockPos.getY() >> CELL_SIZE_SHIFT;
+    int cellZ = blockPos.getZ() >> CELL_SIZE_SHIFT;
+    int cellRadius = Mth.ceil(radius);
+    QueryKey queryKey = new QueryKey(entityClass, cellX, cellY, cellZ, cellRadius);
+    @SuppressWarnings("unchecked")
+    List<T> snapshot = (List<T>) levelQueryCache.snapshots.get(queryKey);
+    if (snapshot == null) {
+      // The snapshot covers every search area with a center inside of the cell.
+      AABB cellArea = new AABB(cellX * CELL_SIZE, cellY * CELL_SIZE, cellZ * CELL_SIZE,
+          (cellX + 1) * CELL_SIZE, (cellY + 1) * CELL_SIZE, (cellZ + 1) * CELL_SIZE)
+              .inflate(cellRadius);
+      snapshot = level.getEntitiesOfClass(entityClass, cellArea, entity -> true);
+      levelQueryCache.snapshots.put(queryKey, snapshot);
+    }
+    return snapshot;
+  }
+
+  private record QueryKey(Class<?> entityClass, int cellX, int cellY, int cellZ, int radius) {
+  }
+
+  private static class LevelQueryCache {
+    private final Map<QueryKey, List<? extends Entity>> snapshots = new HashMap<>();
+    private long gameTime = Long.MIN_VALUE;
+  }
+
+}